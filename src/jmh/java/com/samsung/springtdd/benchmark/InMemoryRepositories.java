@@ -0,0 +1,279 @@
+package com.samsung.springtdd.benchmark;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.CourseDailyStats;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.RegisteredPrice;
+import com.samsung.springtdd.models.DTO.ScheduledCourse;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseDailyStatsRepository;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import com.samsung.springtdd.models.repository.WaitlistRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Map-backed stand-ins for the Spring Data repositories, so the benchmarks measure the service logic
+ * rather than the database. Only the methods {@code RegistrationService} calls on its hot paths are
+ * implemented; anything else throws {@link UnsupportedOperationException}. Not thread-safe: each
+ * benchmark thread gets its own instance.
+ */
+public class InMemoryRepositories {
+    private final Map<Long, Course> courses = new HashMap<>();
+    private final Map<Long, Student> students = new HashMap<>();
+    private final Map<String, Long> studentIdsByEmail = new HashMap<>();
+    // Kept in id order per student, like "order by r.id" in the real query.
+    private final Map<Long, List<Registration>> registrationsByStudent = new HashMap<>();
+    private final Map<DailyKey, CourseDailyStats> dailyStats = new HashMap<>();
+    private long nextRegistrationId = 1;
+
+    private final CourseRepository courseRepository = proxy(CourseRepository.class, (proxy, method, args) ->
+            switch (method.getName()) {
+                case "findById" -> Optional.ofNullable(courses.get((Long) args[0]));
+                case "getReferenceById" -> courses.get((Long) args[0]);
+                case "findAllById" -> findCourses((Iterable<Long>) args[0]);
+                case "reserveSeat" -> reserveSeat((Long) args[0]);
+                case "releaseSeats" -> releaseSeats((Long) args[0], (Long) args[1]);
+                case "lockByIdIn" -> List.copyOf((Collection<Long>) args[0]);
+                default -> unsupported(method.getName());
+            });
+
+    private final StudentRepository studentRepository = proxy(StudentRepository.class, (proxy, method, args) ->
+            switch (method.getName()) {
+                case "findIdByEmail" -> studentIdsByEmail.get((String) args[0]);
+                case "lockByIdIn" -> List.copyOf((Collection<Long>) args[0]);
+                case "getReferenceById" -> students.get((Long) args[0]);
+                default -> unsupported(method.getName());
+            });
+
+    private final RegistrationRepository registrationRepository = proxy(RegistrationRepository.class, (proxy, method, args) ->
+            switch (method.getName()) {
+                case "countByStudentId" -> (long) registrationsOf((Long) args[0]).size();
+                case "saveAndFlush" -> save((Registration) args[0]);
+                case "findFutureCoursesByStudentId" -> findFutureCourses((Long) args[0], (LocalDateTime) args[1]);
+                case "deleteByStudentIdAndCourseId" -> delete((Long) args[0], (Long) args[1]);
+                case "findPrices" -> findPrices((Long) args[0], (Collection<Long>) args[1]);
+                case "findSchedules" -> findSchedules((Collection<Long>) args[0], (LocalDateTime) args[1]);
+                default -> unsupported(method.getName());
+            });
+
+    // Nobody is ever waitlisted in the benchmarks.
+    private final WaitlistRepository waitlistRepository = proxy(WaitlistRepository.class, (proxy, method, args) ->
+            switch (method.getName()) {
+                case "findQueues", "findCourseIdsWithEntries" -> List.of();
+                default -> unsupported(method.getName());
+            });
+
+    private final CourseDailyStatsRepository courseDailyStatsRepository = proxy(CourseDailyStatsRepository.class,
+            (proxy, method, args) -> switch (method.getName()) {
+                case "addToDay" -> addToDay((Collection<Long>) args[0], (LocalDate) args[1], (Long) args[2], (Long) args[3],
+                        (Long) args[4]);
+                case "findCourseIdsWithDay" -> findCourseIdsWithDay((Collection<Long>) args[0], (LocalDate) args[1]);
+                case "saveAll" -> saveDailyStats((Iterable<CourseDailyStats>) args[0]);
+                default -> unsupported(method.getName());
+            });
+
+    public CourseRepository courseRepository() {
+        return courseRepository;
+    }
+
+    public StudentRepository studentRepository() {
+        return studentRepository;
+    }
+
+    public RegistrationRepository registrationRepository() {
+        return registrationRepository;
+    }
+
+    public WaitlistRepository waitlistRepository() {
+        return waitlistRepository;
+    }
+
+    public CourseDailyStatsRepository courseDailyStatsRepository() {
+        return courseDailyStatsRepository;
+    }
+
+    public Course addCourse(Course course) {
+        courses.put(course.getId(), course);
+        return course;
+    }
+
+    public Student addStudent(Student student) {
+        students.put(student.getId(), student);
+        studentIdsByEmail.put(student.getEmail(), student.getId());
+        return student;
+    }
+
+    public void register(Student student, Course course, long price) {
+        save(Registration.builder()
+                .student(student)
+                .course(course)
+                .price(price)
+                .registeredDate(LocalDateTime.now())
+                .build());
+        course.setSeatsTaken(course.getSeatsTaken() + 1);
+    }
+
+    private List<Course> findCourses(Iterable<Long> ids) {
+        List<Course> found = new ArrayList<>();
+        for (Long id : ids) {
+            Course course = courses.get(id);
+            if (course != null) {
+                found.add(course);
+            }
+        }
+        return found;
+    }
+
+    private int reserveSeat(Long courseId) {
+        Course course = courses.get(courseId);
+        if (course == null || (course.getCapacity() != null && course.getSeatsTaken() >= course.getCapacity())) {
+            return 0;
+        }
+        course.setSeatsTaken(course.getSeatsTaken() + 1);
+        return 1;
+    }
+
+    private int releaseSeats(Long courseId, long seats) {
+        Course course = courses.get(courseId);
+        if (course == null || course.getSeatsTaken() < seats) {
+            return 0;
+        }
+        course.setSeatsTaken(course.getSeatsTaken() - (int) seats);
+        return 1;
+    }
+
+    private List<Registration> registrationsOf(Long studentId) {
+        return registrationsByStudent.getOrDefault(studentId, List.of());
+    }
+
+    private Registration save(Registration registration) {
+        List<Registration> registrations = registrationsByStudent
+                .computeIfAbsent(registration.getStudent().getId(), id -> new ArrayList<>());
+        Long courseId = registration.getCourse().getId();
+        for (Registration existing : registrations) {
+            if (existing.getCourse().getId().equals(courseId)) {
+                throw new DataIntegrityViolationException("uk_registrations_student_course");
+            }
+        }
+        registration.setId(nextRegistrationId++);
+        registrations.add(registration);
+        return registration;
+    }
+
+    private List<CourseSummary> findFutureCourses(Long studentId, LocalDateTime now) {
+        List<CourseSummary> future = new ArrayList<>();
+        for (Registration registration : registrationsOf(studentId)) {
+            Course course = registration.getCourse();
+            if (course.getStartTime().isAfter(now)) {
+                future.add(new CourseSummary(course.getId(), course.getName(), course.getStartTime(),
+                        course.getEndTime(), course.getPrice()));
+            }
+        }
+        return future;
+    }
+
+    private List<ScheduledCourse> findSchedules(Collection<Long> studentIds, LocalDateTime now) {
+        List<ScheduledCourse> schedules = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            for (Registration registration : registrationsOf(studentId)) {
+                Course course = registration.getCourse();
+                if (course.getEndTime().isAfter(now)) {
+                    schedules.add(new Scheduled(studentId, course.getId(), course.getStartTime(), course.getEndTime()));
+                }
+            }
+        }
+        return schedules;
+    }
+
+    private int delete(Long studentId, Long courseId) {
+        Iterator<Registration> iterator = registrationsOf(studentId).iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getCourse().getId().equals(courseId)) {
+                iterator.remove();
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    private List<RegisteredPrice> findPrices(Long studentId, Collection<Long> courseIds) {
+        List<RegisteredPrice> prices = new ArrayList<>();
+        for (Registration registration : registrationsOf(studentId)) {
+            if (courseIds.contains(registration.getCourse().getId())) {
+                prices.add(new Priced(registration.getCourse().getId(), registration.getPrice()));
+            }
+        }
+        return prices;
+    }
+
+    private int addToDay(Collection<Long> courseIds, LocalDate day, long registrations, long cancellations,
+                         long revenue) {
+        int updated = 0;
+        for (Long courseId : courseIds) {
+            CourseDailyStats row = dailyStats.get(new DailyKey(courseId, day));
+            if (row != null) {
+                row.setRegistrations(row.getRegistrations() + registrations);
+                row.setCancellations(row.getCancellations() + cancellations);
+                row.setRevenue(row.getRevenue() + revenue);
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    private List<Long> findCourseIdsWithDay(Collection<Long> courseIds, LocalDate day) {
+        return courseIds.stream().filter(courseId -> dailyStats.containsKey(new DailyKey(courseId, day))).toList();
+    }
+
+    private List<CourseDailyStats> saveDailyStats(Iterable<CourseDailyStats> rows) {
+        List<CourseDailyStats> saved = new ArrayList<>();
+        for (CourseDailyStats row : rows) {
+            dailyStats.put(new DailyKey(row.getCourseId(), row.getDay()), row);
+            saved.add(row);
+        }
+        return saved;
+    }
+
+    private record DailyKey(Long courseId, LocalDate day) {
+    }
+
+    private record Priced(Long getCourseId, long getPrice) implements RegisteredPrice {
+    }
+
+    private record Scheduled(Long getStudentId, Long getCourseId, LocalDateTime getStartTime,
+                             LocalDateTime getEndTime) implements ScheduledCourse {
+    }
+
+    private static Object unsupported(String method) {
+        throw new UnsupportedOperationException(method + " is not implemented in memory");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> type.getSimpleName() + " (in memory)";
+                };
+            }
+            return handler.invoke(proxy, method, args);
+        });
+    }
+}
@@ -0,0 +1,139 @@
+package com.samsung.springtdd.benchmark;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.PriceQuote;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.services.RegistrationService;
+import com.samsung.springtdd.support.RegistrationServices;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link RegistrationService} hot paths with the database taken out of the picture.
+ * The data shape is driven by {@link Param}s; run with {@code -prof gc} (the profile default) to get
+ * the allocation rate per operation next to the throughput.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistrationServiceBenchmark {
+    @Param({"1000"})
+    public int students;
+
+    @Param({"200"})
+    public int courses;
+
+    @Param({"5", "50"})
+    public int registrationsPerStudent;
+
+    /** Share of the course catalogue that has already started. */
+    @Param({"0.0", "0.5", "0.9"})
+    public double pastCourseRatio;
+
+    private RegistrationService registrationService;
+    private String[] emails;
+    private Long openCourseId;
+    private List<Long> quoteCourseIds;
+    private int next;
+
+    @Setup
+    public void setup() {
+        if (registrationsPerStudent > courses) {
+            throw new IllegalArgumentException("registrationsPerStudent must not exceed courses");
+        }
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        InMemoryRepositories repositories = new InMemoryRepositories();
+
+        List<Course> catalogue = new ArrayList<>(courses);
+        int pastCourses = (int) Math.round(courses * pastCourseRatio);
+        for (long id = 1; id <= courses; id++) {
+            LocalDateTime start = id <= pastCourses ? now.minusDays(30 + id) : now.plusDays(30 + id);
+            catalogue.add(repositories.addCourse(Course.builder()
+                    .id(id)
+                    .name("Course " + id)
+                    .startTime(start)
+                    .endTime(start.plusDays(30))
+                    .price(1000000L)
+                    .build()));
+        }
+        // Never pre-registered, so registerCourse on it always succeeds and is undone by unregisterCourse.
+        openCourseId = courses + 1L;
+        repositories.addCourse(Course.builder()
+                .id(openCourseId)
+                .name("Open course")
+                .startTime(now.plusDays(365))
+                .endTime(now.plusDays(395))
+                .price(1000000L)
+                .build());
+        quoteCourseIds = catalogue.subList(courses - Math.min(courses, 5), courses).stream()
+                .map(Course::getId)
+                .toList();
+
+        emails = new String[students];
+        for (long id = 1; id <= students; id++) {
+            String email = "student" + id + "@example.com";
+            emails[(int) id - 1] = email;
+            Student student = repositories.addStudent(Student.builder().id(id).email(email).build());
+            List<Course> shuffled = new ArrayList<>(catalogue);
+            Collections.shuffle(shuffled, random);
+            for (Course course : shuffled.subList(0, registrationsPerStudent)) {
+                repositories.register(student, course, course.getPrice());
+            }
+        }
+
+        registrationService = new RegistrationServices(
+                repositories.courseRepository(),
+                repositories.studentRepository(),
+                repositories.registrationRepository(),
+                repositories.waitlistRepository(),
+                repositories.courseDailyStatsRepository(),
+                100000,
+                false).registrationService();
+    }
+
+    private String nextEmail() {
+        String email = emails[next];
+        next = next + 1 == emails.length ? 0 : next + 1;
+        return email;
+    }
+
+    @Benchmark
+    public List<CourseSummary> getRegisteredCourses() {
+        return registrationService.getRegisteredCourses(nextEmail());
+    }
+
+    /** registerCourse (seat, calculatePrice, getFutureCourses) followed by the unregister that undoes it. */
+    @Benchmark
+    public List<CourseSummary> registerAndUnregister() {
+        String email = nextEmail();
+        List<CourseSummary> registered = registrationService.registerCourse(openCourseId, email);
+        registrationService.unregisterCourse(openCourseId, email);
+        return registered;
+    }
+
+    @Benchmark
+    public List<PriceQuote> quotePrices() {
+        return registrationService.quotePrices(nextEmail(), quoteCourseIds);
+    }
+}
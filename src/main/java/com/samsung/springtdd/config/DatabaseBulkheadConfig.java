@@ -0,0 +1,40 @@
+package com.samsung.springtdd.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application DataSource in a {@link BulkheadDataSource} when {@code db-bulkhead.enabled}
+ * is set. That is the default whenever virtual threads are on, because thousands of request
+ * threads would otherwise all pile onto the connection pool.
+ * <p>
+ * A {@link ReadWriteRoutingDataSource} is left alone: {@link ReadWriteRoutingConfig} puts a bulkhead
+ * on each of its pools instead, sized for that pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "db-bulkhead.enabled", havingValue = "true")
+public class DatabaseBulkheadConfig {
+
+    @Bean
+    public static BeanPostProcessor databaseBulkheadPostProcessor(Environment environment) {
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        int maxConcurrent = environment.getProperty("db-bulkhead.max-concurrent", Integer.class, poolSize);
+        Duration maxWait = environment.getProperty("db-bulkhead.max-wait", Duration.class, Duration.ofSeconds(2));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)
+                        && !(bean instanceof ReadWriteRoutingDataSource)) {
+                    return new BulkheadDataSource(dataSource, maxConcurrent, maxWait);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.samsung.springtdd.config;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Thrown when a caller waited longer than the bulkhead allows for a database slot.
+ */
+public class DatabaseBusyException extends SQLTransientConnectionException {
+
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
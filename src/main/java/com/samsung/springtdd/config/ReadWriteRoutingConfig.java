@@ -0,0 +1,68 @@
+package com.samsung.springtdd.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Replaces the single application DataSource with a {@link ReadWriteRoutingDataSource} when
+ * {@code datasource-routing.enabled} is set. The primary pool is configured by the usual
+ * {@code spring.datasource.*} properties. The read pool is configured by the same keys under
+ * {@code spring.datasource.read.*}, and its credentials default to the primary's.
+ * <p>
+ * With {@code db-bulkhead.enabled} each pool gets its own {@link BulkheadDataSource}, sized from that
+ * pool ({@code db-bulkhead.max-concurrent} for the primary, {@code db-bulkhead.read.max-concurrent} for
+ * the read pool). One bulkhead around the router would cap both pools together at the primary's size
+ * and let a burst of reads use up the permits that writes need.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource-routing.enabled", havingValue = "true")
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource dataSource(DataSourceProperties properties, Environment environment) {
+        Binder binder = Binder.get(environment);
+        DataSourceProperties readProperties = binder.bind("spring.datasource.read", DataSourceProperties.class)
+                .orElseGet(DataSourceProperties::new);
+        if (!StringUtils.hasText(readProperties.getUrl())) {
+            throw new IllegalStateException("spring.datasource.read.url must be set when datasource-routing.enabled is true");
+        }
+        if (readProperties.getUsername() == null) {
+            readProperties.setUsername(properties.determineUsername());
+            readProperties.setPassword(properties.determinePassword());
+        }
+        if (readProperties.getDriverClassName() == null) {
+            readProperties.setDriverClassName(properties.getDriverClassName());
+        }
+        return new ReadWriteRoutingDataSource(
+                bulkhead(pool(properties, binder, "spring.datasource.hikari", "primary"), environment, "db-bulkhead"),
+                bulkhead(pool(readProperties, binder, "spring.datasource.read.hikari", "read"), environment, "db-bulkhead.read"));
+    }
+
+    private static DataSource bulkhead(HikariDataSource pool, Environment environment, String prefix) {
+        if (!environment.getProperty("db-bulkhead.enabled", Boolean.class, false)) {
+            return pool;
+        }
+        int maxConcurrent = environment.getProperty(prefix + ".max-concurrent", Integer.class, pool.getMaximumPoolSize());
+        Duration maxWait = environment.getProperty("db-bulkhead.max-wait", Duration.class, Duration.ofSeconds(2));
+        return new BulkheadDataSource(pool, maxConcurrent, maxWait);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder, String prefix, String name) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(prefix, Bindable.ofInstance(dataSource));
+        if (dataSource.getPoolName() == null) {
+            dataSource.setPoolName(name);
+        }
+        return dataSource;
+    }
+}
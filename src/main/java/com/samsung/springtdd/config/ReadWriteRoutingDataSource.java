@@ -0,0 +1,113 @@
+package com.samsung.springtdd.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the read DataSource and everything else to the primary. The choice
+ * is made when the first statement runs rather than when the transaction begins, because Spring only
+ * marks the transaction read-only after it has asked for a connection. Code that must see the latest
+ * commits, such as a student reading right after their own write or a cache refilling after an
+ * invalidation, runs inside {@link #onPrimary} to skip the replica and its replication lag. Inside a
+ * read-only transaction the pin only helps if it is taken before the transaction's first statement,
+ * because that statement fixes the connection for the rest of the transaction.
+ */
+public class ReadWriteRoutingDataSource extends DelegatingDataSource implements Closeable {
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+    private static final AtomicInteger OPEN_INSTANCES = new AtomicInteger();
+
+    enum Target { PRIMARY, READ }
+
+    private final DataSource primary;
+    private final DataSource read;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource read) {
+        this.primary = primary;
+        this.read = read;
+        Router router = new Router();
+        router.setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.READ, read));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(new LazyConnectionDataSourceProxy(router));
+        OPEN_INSTANCES.incrementAndGet();
+    }
+
+    /**
+     * Runs the action with every connection it opens taken from the primary, read-only or not.
+     * Connections the surrounding transaction already opened are not affected.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PINNED_TO_PRIMARY.get();
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PINNED_TO_PRIMARY.remove();
+            } else {
+                PINNED_TO_PRIMARY.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Whether a connection opened now would come from the replica, so what it reads may lag behind
+     * the latest commits. Always false when routing is not in use.
+     */
+    public static boolean isReplicaRead() {
+        return OPEN_INSTANCES.get() > 0 && currentTarget() == Target.READ;
+    }
+
+    static Target currentTarget() {
+        if (PINNED_TO_PRIMARY.get() == null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.READ;
+        }
+        return Target.PRIMARY;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public DataSource getRead() {
+        return read;
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            OPEN_INSTANCES.decrementAndGet();
+        }
+        closeIfPossible(primary);
+        closeIfPossible(read);
+    }
+
+    private static void closeIfPossible(DataSource dataSource) {
+        if (dataSource instanceof DelegatingDataSource delegating) {
+            closeIfPossible(delegating.getTargetDataSource());
+        } else if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not close " + dataSource, e);
+            }
+        }
+    }
+
+    private static final class Router extends AbstractRoutingDataSource {
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return currentTarget();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.samsung.springtdd.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.samsung.springtdd.services.RegistrationChangedEvent;
+import com.samsung.springtdd.services.cache.StudentCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Remembers which students changed their registrations within the last {@code window}, which should
+ * cover the replica's replication lag. Their reads go to the primary so they see their own writes;
+ * everyone else keeps reading from the replica. The record is per process, so a student whose next
+ * request lands on another instance is only covered if requests stick to one instance.
+ */
+@Component
+public class ReadYourWrites {
+    private final Cache<String, Boolean> recentWriters;
+    private final long windowNanos;
+    private volatile long everyoneUntil = System.nanoTime();
+
+    public ReadYourWrites(@Value("${datasource-routing.read-your-writes-window:5s}") Duration window,
+                          @Value("${datasource-routing.read-your-writes-maximum-size:100000}") long maximumSize) {
+        this.windowNanos = window.toNanos();
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Runs a read made on behalf of the student, on the primary if they wrote within the window.
+     */
+    public <T> T read(String email, Supplier<T> read) {
+        return wroteRecently(email) ? ReadWriteRoutingDataSource.onPrimary(read) : read.get();
+    }
+
+    public boolean wroteRecently(String email) {
+        if (System.nanoTime() - everyoneUntil < 0) {
+            return true;
+        }
+        String key = StudentCache.normalizeEmail(email);
+        return key != null && recentWriters.getIfPresent(key) != null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrationChanged(RegistrationChangedEvent event) {
+        if (event.getEmail() == null) {
+            everyoneUntil = System.nanoTime() + windowNanos;
+        } else {
+            recentWriters.put(StudentCache.normalizeEmail(event.getEmail()), Boolean.TRUE);
+        }
+    }
+}
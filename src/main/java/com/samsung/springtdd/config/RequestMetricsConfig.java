@@ -0,0 +1,44 @@
+package com.samsung.springtdd.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Runtime diagnostics in place of {@code spring.jpa.show-sql}. Endpoint latency comes from Spring's
+ * {@code http.server.requests} timer, service method latency from {@code @Timed} (timer
+ * {@code registration.service}), and per-request statement and entity-load counts from
+ * {@link RequestMetricsFilter}. Percentiles are configured in application.properties; everything
+ * is served by /actuator/prometheus and /actuator/metrics.
+ */
+@Configuration
+public class RequestMetricsConfig {
+
+    @Bean
+    public RequestQueryCounter requestQueryCounter() {
+        return new RequestQueryCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer requestQueryCounterCustomizer(RequestQueryCounter counter) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+            properties.put(AvailableSettings.INTERCEPTOR, counter);
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(RequestQueryCounter counter,
+                                                                             MeterRegistry registry) {
+        return new FilterRegistrationBean<>(new RequestMetricsFilter(counter, registry));
+    }
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
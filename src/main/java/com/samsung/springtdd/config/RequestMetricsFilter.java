@@ -0,0 +1,56 @@
+package com.samsung.springtdd.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements and entity loads each request caused, per endpoint. A request
+ * whose statement count grows with the size of its result is the N+1 signature to look for.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    public static final String SQL_STATEMENTS = "http.server.requests.sql.statements";
+    public static final String ENTITY_LOADS = "http.server.requests.entity.loads";
+
+    private final RequestQueryCounter counter;
+    private final MeterRegistry registry;
+
+    public RequestMetricsFilter(RequestQueryCounter counter, MeterRegistry registry) {
+        this.counter = counter;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        counter.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryCounter.Counts counts = counter.end();
+            Tags tags = Tags.of("method", request.getMethod(), "uri", uriTemplate(request));
+            DistributionSummary.builder(SQL_STATEMENTS)
+                    .tags(tags)
+                    .register(registry)
+                    .record(counts.getStatements());
+            DistributionSummary.builder(ENTITY_LOADS)
+                    .tags(tags)
+                    .register(registry)
+                    .record(counts.getEntityLoads());
+        }
+    }
+
+    // The matched pattern (/registered-courses/{email}), never the raw path, to keep tag cardinality bounded.
+    private static String uriTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,58 @@
+package com.samsung.springtdd.config;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Counts the SQL statements Hibernate prepares and the entities it loads on the current thread,
+ * between {@link #begin()} and {@link #end()}. Registered as the session factory's statement
+ * inspector and interceptor; on threads that are not being measured it does nothing.
+ */
+public class RequestQueryCounter implements StatementInspector, Interceptor {
+    private final ThreadLocal<Counts> current = new ThreadLocal<>();
+
+    public void begin() {
+        current.set(new Counts());
+    }
+
+    /**
+     * Stops counting on this thread and returns what was counted since {@link #begin()}.
+     */
+    public Counts end() {
+        Counts counts = current.get();
+        current.remove();
+        return counts != null ? counts : new Counts();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counts counts = current.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        Counts counts = current.get();
+        if (counts != null) {
+            counts.entityLoads++;
+        }
+        return false;
+    }
+
+    public static final class Counts {
+        private long statements;
+        private long entityLoads;
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getEntityLoads() {
+            return entityLoads;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.samsung.springtdd.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates {@code idx_students_email_lower}, the expression index behind the case-insensitive email
+ * lookups in {@code StudentRepository}, which JPA annotations cannot declare. Only PostgreSQL gets
+ * it; H2, used in tests, has no expression indexes. The index is built concurrently, so startup on a
+ * large table does not block writes. An interrupted concurrent build leaves an INVALID index behind,
+ * which {@code if not exists} does not replace, so that is reported rather than silently kept.
+ * <p>
+ * Rows stored before emails were normalized may hold the same email in different casings. Lookups
+ * resolve such an email to the lowest student id; how many emails are affected is logged at startup.
+ */
+@Component
+public class StudentEmailIndex {
+    static final String INDEX_NAME = "idx_students_email_lower";
+
+    private static final Logger log = LoggerFactory.getLogger(StudentEmailIndex.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StudentEmailIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIfMissing() {
+        try {
+            String database = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if ("PostgreSQL".equals(database)) {
+                jdbcTemplate.execute("create index concurrently if not exists " + INDEX_NAME +
+                        " on students (lower(email))");
+                List<Boolean> valid = jdbcTemplate.queryForList("select i.indisvalid from pg_index i " +
+                        "join pg_class c on c.oid = i.indexrelid where c.relname = ?", Boolean.class, INDEX_NAME);
+                if (valid.contains(Boolean.FALSE)) {
+                    log.warn("Index {} is INVALID, left by an interrupted build; email lookups fall back to a scan " +
+                            "until it is rebuilt with: reindex index concurrently {}", INDEX_NAME, INDEX_NAME);
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not create index {}; email lookups fall back to a scan: {}", INDEX_NAME, e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportCaseDuplicates() {
+        try {
+            long duplicates = countCaseDuplicates();
+            if (duplicates > 0) {
+                log.warn("{} emails belong to more than one student when compared case-insensitively; " +
+                        "each resolves to its lowest student id", duplicates);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not check students for case-duplicate emails: {}", e.getMessage());
+        }
+    }
+
+    long countCaseDuplicates() {
+        Long duplicates = jdbcTemplate.queryForObject("select count(*) from (select lower(email) from students " +
+                "group by lower(email) having count(*) > 1) duplicates", Long.class);
+        return duplicates != null ? duplicates : 0;
+    }
+}
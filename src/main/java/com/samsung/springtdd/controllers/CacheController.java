@@ -0,0 +1,44 @@
+package com.samsung.springtdd.controllers;
+
+import com.samsung.springtdd.models.DTO.CacheStatistics;
+import com.samsung.springtdd.services.cache.CourseCache;
+import com.samsung.springtdd.services.cache.CourseJsonCache;
+import com.samsung.springtdd.services.cache.StudentCache;
+import com.samsung.springtdd.services.cache.StudentSchedules;
+import com.samsung.springtdd.services.cache.WaitlistQueues;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+public class CacheController {
+
+    private final CourseCache courseCache;
+    private final StudentCache studentCache;
+    private final CourseJsonCache courseJsonCache;
+    private final WaitlistQueues waitlistQueues;
+    private final StudentSchedules studentSchedules;
+
+    public CacheController(CourseCache courseCache, StudentCache studentCache, CourseJsonCache courseJsonCache,
+                           WaitlistQueues waitlistQueues, StudentSchedules studentSchedules) {
+        this.courseCache = courseCache;
+        this.studentCache = studentCache;
+        this.courseJsonCache = courseJsonCache;
+        this.waitlistQueues = waitlistQueues;
+        this.studentSchedules = studentSchedules;
+    }
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, CacheStatistics>> getCacheStats() {
+        Map<String, CacheStatistics> stats = new LinkedHashMap<>();
+        stats.put("courses", courseCache.statistics());
+        stats.put("students", studentCache.statistics());
+        stats.put("courseJson", courseJsonCache.statistics());
+        stats.put("waitlists", waitlistQueues.statistics());
+        stats.put("schedules", studentSchedules.statistics());
+        return ResponseEntity.ok(stats);
+    }
+}
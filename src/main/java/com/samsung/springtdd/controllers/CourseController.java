@@ -0,0 +1,72 @@
+package com.samsung.springtdd.controllers;
+
+import com.samsung.springtdd.services.CourseCatalogService;
+import com.samsung.springtdd.services.cache.CourseJsonCache;
+import com.samsung.springtdd.services.search.CourseSearchIndex;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+@RestController
+public class CourseController {
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final CourseCatalogService courseCatalogService;
+    private final CourseJsonCache courseJsonCache;
+    private final CourseSearchIndex courseSearchIndex;
+
+    public CourseController(CourseCatalogService courseCatalogService, CourseJsonCache courseJsonCache,
+                            CourseSearchIndex courseSearchIndex) {
+        this.courseCatalogService = courseCatalogService;
+        this.courseJsonCache = courseJsonCache;
+        this.courseSearchIndex = courseSearchIndex;
+    }
+
+    @GetMapping(value = "/courses/upcoming", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getUpcomingCourses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CourseCatalogService.DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(courseJsonCache.toJson(courseCatalogService.findUpcoming(cursor, limit)));
+    }
+
+    @GetMapping(value = "/courses/upcoming", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUpcomingCourses() {
+        StreamingResponseBody body = out -> courseCatalogService.streamUpcoming(course -> {
+            try {
+                courseJsonCache.write(course, out);
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    /**
+     * Typeahead search by name words and start time. Without {@code from}, only courses that have not
+     * started are returned.
+     */
+    @GetMapping(value = "/courses/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> searchCourses(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "" + CourseSearchIndex.DEFAULT_LIMIT) int limit) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(courseJsonCache.toJsonArray(courseSearchIndex.search(q, start, to, limit)));
+    }
+}
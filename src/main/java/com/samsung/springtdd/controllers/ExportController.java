@@ -0,0 +1,58 @@
+package com.samsung.springtdd.controllers;
+
+import com.samsung.springtdd.services.RegistrationExportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registration dumps: CSV by default, NDJSON when the Accept header asks for it. Both are written while
+ * the database cursor is read, so the response starts before the last row is fetched.
+ */
+@RestController
+public class ExportController {
+    private final RegistrationExportService registrationExportService;
+
+    public ExportController(RegistrationExportService registrationExportService) {
+        this.registrationExportService = registrationExportService;
+    }
+
+    @GetMapping("/export/registrations")
+    public ResponseEntity<StreamingResponseBody> exportRegistrationsCsv(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        validateRange(from, to);
+        StreamingResponseBody body = out -> registrationExportService.writeCsv(from, to, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ImportController.TEXT_CSV_VALUE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"registrations.csv\"")
+                .body(body);
+    }
+
+    @GetMapping(value = "/export/registrations", produces = CourseController.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportRegistrationsNdjson(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        validateRange(from, to);
+        StreamingResponseBody body = out -> registrationExportService.writeNdjson(from, to, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(CourseController.APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    /**
+     * Checked before streaming starts, so a bad range still gets a 400 instead of a cut-off body.
+     */
+    private static void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+    }
+}
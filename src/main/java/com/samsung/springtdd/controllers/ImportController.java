@@ -0,0 +1,45 @@
+package com.samsung.springtdd.controllers;
+
+import com.samsung.springtdd.models.DTO.ImportReport;
+import com.samsung.springtdd.services.importing.BulkImportService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+/**
+ * CSV bulk loads. The request body is streamed straight into the importer; pass an {@value #IMPORT_ID}
+ * header to poll GET /import/{importId} for progress while the upload runs.
+ */
+@RestController
+public class ImportController {
+    public static final String IMPORT_ID = "Import-Id";
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final BulkImportService bulkImportService;
+
+    public ImportController(BulkImportService bulkImportService) {
+        this.bulkImportService = bulkImportService;
+    }
+
+    @PostMapping(value = "/import/students", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<ImportReport> importStudents(@RequestHeader(value = IMPORT_ID, required = false) String importId,
+                                                       InputStream body) {
+        return ResponseEntity.ok(bulkImportService.importStudents(importId, body));
+    }
+
+    @PostMapping(value = "/import/courses", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<ImportReport> importCourses(@RequestHeader(value = IMPORT_ID, required = false) String importId,
+                                                      InputStream body) {
+        return ResponseEntity.ok(bulkImportService.importCourses(importId, body));
+    }
+
+    @GetMapping("/import/{importId}")
+    public ResponseEntity<ImportReport> getReport(@PathVariable String importId) {
+        return ResponseEntity.ok(bulkImportService.getReport(importId));
+    }
+}
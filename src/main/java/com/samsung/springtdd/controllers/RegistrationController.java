@@ -1,32 +1,101 @@
 package com.samsung.springtdd.controllers;
 
-import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.BatchRegistrationResult;
+import com.samsung.springtdd.models.DTO.BulkUnregisterRequest;
+import com.samsung.springtdd.models.DTO.BulkUnregisterResult;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.PriceQuote;
+import com.samsung.springtdd.models.DTO.QuoteRequest;
 import com.samsung.springtdd.models.DTO.RegistrationRequest;
+import com.samsung.springtdd.models.DTO.RegistrationTicket;
+import com.samsung.springtdd.services.IdempotencyStore;
 import com.samsung.springtdd.services.RegistrationService;
+import com.samsung.springtdd.services.RegistrationWriteBehindService;
+import com.samsung.springtdd.services.cache.CourseJsonCache;
+import com.samsung.springtdd.services.cache.RegistrationVersions;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 @RestController
 public class RegistrationController {
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
 
     private final RegistrationService registrationService;
+    private final RegistrationWriteBehindService writeBehindService;
+    private final IdempotencyStore idempotencyStore;
+    private final CourseJsonCache courseJsonCache;
+    private final RegistrationVersions registrationVersions;
 
-    public RegistrationController(RegistrationService registrationService) {
+    public RegistrationController(RegistrationService registrationService,
+                                  RegistrationWriteBehindService writeBehindService,
+                                  IdempotencyStore idempotencyStore,
+                                  CourseJsonCache courseJsonCache,
+                                  RegistrationVersions registrationVersions) {
         this.registrationService = registrationService;
+        this.writeBehindService = writeBehindService;
+        this.idempotencyStore = idempotencyStore;
+        this.courseJsonCache = courseJsonCache;
+        this.registrationVersions = registrationVersions;
     }
 
     @PostMapping("/register")
-    public ResponseEntity<List<Course>> register(@RequestBody RegistrationRequest request) {
-        List<Course> registeredCourses = registrationService.registerCourse(request.getCourseId(), request.getEmail());
-        return ResponseEntity.ok(registeredCourses);
+    public ResponseEntity<?> register(@RequestBody RegistrationRequest request,
+                                      @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return doRegister(request);
+        }
+        String fingerprint = request.getCourseId() + ":" + request.getEmail();
+        IdempotencyStore.Outcome<ResponseEntity<?>> outcome =
+                idempotencyStore.execute(idempotencyKey, fingerprint, () -> doRegister(request));
+        if (!outcome.isReplayed()) {
+            return outcome.getResult();
+        }
+        ResponseEntity<?> stored = outcome.getResult();
+        return ResponseEntity.status(stored.getStatusCode())
+                .headers(stored.getHeaders())
+                .header(IDEMPOTENT_REPLAYED, "true")
+                .body(stored.getBody());
+    }
+
+    @GetMapping("/register/status/{ticket}")
+    public ResponseEntity<RegistrationTicket> getRegistrationStatus(@PathVariable String ticket) {
+        return ResponseEntity.ok(writeBehindService.getStatus(ticket));
+    }
+
+    @PostMapping("/register/batch")
+    public ResponseEntity<List<BatchRegistrationResult>> registerBatch(@RequestBody List<RegistrationRequest> requests) {
+        List<BatchRegistrationResult> results = registrationService.registerCourses(requests);
+        return ResponseEntity.ok(results);
+    }
+
+    @PostMapping("/quote")
+    public ResponseEntity<List<PriceQuote>> quote(@RequestBody QuoteRequest request) {
+        List<PriceQuote> quotes = registrationService.quotePrices(request.getEmail(), request.getCourseIds());
+        return ResponseEntity.ok(quotes);
     }
 
     @GetMapping("/registered-courses/{email}")
-    public ResponseEntity<List<Course>> getRegisteredCourses(@PathVariable String email) {
-        List<Course> courses = registrationService.getRegisteredCourses(email);
-        return ResponseEntity.ok(courses);
+    public ResponseEntity<byte[]> getRegisteredCourses(@PathVariable String email, WebRequest webRequest) {
+        String currentTag = registrationVersions.currentTag(email);
+        if (currentTag != null && webRequest.checkNotModified(currentTag)) {
+            return null;
+        }
+        long version = registrationVersions.begin(email);
+        List<CourseSummary> courses = registrationService.getRegisteredCourses(email);
+        String tag = registrationVersions.record(email, version, courses);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (tag != null) {
+            response.eTag(tag);
+        }
+        return response
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(courseJsonCache.toJsonArray(courses));
     }
 
     @DeleteMapping("/unregister/{courseId}/{email}")
@@ -34,5 +103,32 @@ public class RegistrationController {
         boolean success = registrationService.unregisterCourse(courseId, email);
         return ResponseEntity.ok("Unregistered successfully");
     }
-}
 
+    @DeleteMapping("/unregister/batch")
+    public ResponseEntity<BulkUnregisterResult> unregisterBatch(@RequestBody BulkUnregisterRequest request) {
+        int deleted;
+        if (request.getEmail() != null) {
+            deleted = registrationService.unregisterCourses(request.getEmail(), request.getCourseIds());
+        } else if (request.getCourseId() != null) {
+            deleted = registrationService.unregisterAll(request.getCourseId());
+        } else {
+            throw new IllegalArgumentException("Either email and courseIds, or courseId, is required");
+        }
+        return ResponseEntity.ok(new BulkUnregisterResult(deleted));
+    }
+
+    private ResponseEntity<?> doRegister(RegistrationRequest request) {
+        if (writeBehindService.isEnabled()) {
+            RegistrationTicket ticket = writeBehindService.submit(request.getCourseId(), request.getEmail());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ticket);
+        }
+        List<CourseSummary> registeredCourses = registrationService.registerCourse(request.getCourseId(), request.getEmail());
+        return courseList(registeredCourses);
+    }
+
+    private ResponseEntity<byte[]> courseList(List<CourseSummary> courses) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(courseJsonCache.toJsonArray(courses));
+    }
+}
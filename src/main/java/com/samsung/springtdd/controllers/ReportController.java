@@ -0,0 +1,42 @@
+package com.samsung.springtdd.controllers;
+
+import com.samsung.springtdd.models.DTO.CourseDailyReport;
+import com.samsung.springtdd.models.DTO.CourseReport;
+import com.samsung.springtdd.services.reporting.CourseReportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+public class ReportController {
+    private final CourseReportService courseReportService;
+
+    public ReportController(CourseReportService courseReportService) {
+        this.courseReportService = courseReportService;
+    }
+
+    /**
+     * Registrations, cancellations, net enrolments and net revenue per course, optionally limited to
+     * the registration days in [from, to].
+     */
+    @GetMapping("/reports/courses")
+    public ResponseEntity<List<CourseReport>> getCourseReports(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(courseReportService.getCourseReports(from, to));
+    }
+
+    @GetMapping("/reports/courses/{courseId}/daily")
+    public ResponseEntity<List<CourseDailyReport>> getDailyReport(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(courseReportService.getDailyReport(courseId, from, to));
+    }
+}
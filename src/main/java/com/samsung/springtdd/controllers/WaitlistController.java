@@ -0,0 +1,32 @@
+package com.samsung.springtdd.controllers;
+
+import com.samsung.springtdd.models.DTO.RegistrationRequest;
+import com.samsung.springtdd.models.DTO.WaitlistPosition;
+import com.samsung.springtdd.services.WaitlistService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+public class WaitlistController {
+    private final WaitlistService waitlistService;
+
+    public WaitlistController(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    @PostMapping("/waitlist")
+    public ResponseEntity<WaitlistPosition> join(@RequestBody RegistrationRequest request) {
+        return ResponseEntity.ok(waitlistService.join(request.getCourseId(), request.getEmail()));
+    }
+
+    @GetMapping("/waitlist/{courseId}/{email}")
+    public ResponseEntity<WaitlistPosition> getPosition(@PathVariable Long courseId, @PathVariable String email) {
+        return ResponseEntity.ok(waitlistService.getPosition(courseId, email));
+    }
+
+    @DeleteMapping("/waitlist/{courseId}/{email}")
+    public ResponseEntity<String> leave(@PathVariable Long courseId, @PathVariable String email) {
+        waitlistService.leave(courseId, email);
+        return ResponseEntity.ok("Left waitlist successfully");
+    }
+}
@@ -0,0 +1,42 @@
+package com.samsung.springtdd.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A registration for a course that has ended, moved out of {@code registrations} by the archiver. It
+ * keeps the id it had there, so a row is never archived twice.
+ */
+@Entity
+@Table(name = "registrations_archive", uniqueConstraints = @UniqueConstraint(
+        name = "uk_registrations_archive_student_course", columnNames = {"student_id", "course_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedRegistration {
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    private Course course;
+
+    @Column(nullable = false)
+    private long price;
+
+    @Column(name = "registered_date")
+    private LocalDateTime registeredDate;
+
+    @Column(name = "archived_date", nullable = false)
+    private LocalDateTime archivedDate;
+}
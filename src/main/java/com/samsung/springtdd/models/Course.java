@@ -6,13 +6,13 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
-import java.math.BigInteger;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "courses")
+@Table(name = "courses", indexes = @Index(name = "idx_courses_start_time_id", columnList = "start_time, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,8 +32,19 @@ public class Course {
     private LocalDateTime endTime;
 
     @Column(nullable = false)
-    private BigInteger price;
+    private long price;
+
+    @Column
+    private Integer capacity;
+
+    @Column(name = "seats_taken", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int seatsTaken = 0;
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Registration> registrations;
+
+    @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<WaitlistEntry> waitlistEntries;
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.samsung.springtdd.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Registrations, cancellations and net revenue of one course on one day, kept up to date in the same
+ * transaction as the registration rows. The course is referenced by id only, so the figures outlive a
+ * deleted course.
+ */
+@Entity
+@Table(name = "course_daily_stats", uniqueConstraints = @UniqueConstraint(
+        name = "uk_course_daily_stats_course_date", columnNames = {"course_id", "stats_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseDailyStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_daily_stats_seq")
+    @SequenceGenerator(name = "course_daily_stats_seq", sequenceName = "course_daily_stats_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "stats_date", nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private long registrations;
+
+    @Column(nullable = false)
+    private long cancellations;
+
+    /**
+     * Prices of the day's registrations minus the prices of the registrations cancelled that day.
+     */
+    @Column(nullable = false)
+    private long revenue;
+}
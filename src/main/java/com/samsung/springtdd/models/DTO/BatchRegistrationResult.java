@@ -0,0 +1,70 @@
+package com.samsung.springtdd.models.DTO;
+
+public class BatchRegistrationResult {
+    public enum Status {
+        REGISTERED,
+        FAILED
+    }
+
+    private Long courseId;
+    private String email;
+    private Status status;
+    private Long price;
+    private String message;
+
+    public BatchRegistrationResult(Long courseId, String email, Status status, Long price, String message) {
+        this.courseId = courseId;
+        this.email = email;
+        this.status = status;
+        this.price = price;
+        this.message = message;
+    }
+
+    public static BatchRegistrationResult registered(Long courseId, String email, Long price) {
+        return new BatchRegistrationResult(courseId, email, Status.REGISTERED, price, null);
+    }
+
+    public static BatchRegistrationResult failed(Long courseId, String email, String message) {
+        return new BatchRegistrationResult(courseId, email, Status.FAILED, null, message);
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getPrice() {
+        return price;
+    }
+
+    public void setPrice(Long price) {
+        this.price = price;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,37 @@
+package com.samsung.springtdd.models.DTO;
+
+import java.util.List;
+
+/**
+ * Either {@code email} + {@code courseIds} (one student drops several courses) or
+ * {@code courseId} alone (drop the whole roster of a cancelled course).
+ */
+public class BulkUnregisterRequest {
+    private String email;
+    private List<Long> courseIds;
+    private Long courseId;
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public List<Long> getCourseIds() {
+        return courseIds;
+    }
+
+    public void setCourseIds(List<Long> courseIds) {
+        this.courseIds = courseIds;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+}
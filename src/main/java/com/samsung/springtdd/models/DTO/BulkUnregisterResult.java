@@ -0,0 +1,13 @@
+package com.samsung.springtdd.models.DTO;
+
+public class BulkUnregisterResult {
+    private final int affectedRows;
+
+    public BulkUnregisterResult(int affectedRows) {
+        this.affectedRows = affectedRows;
+    }
+
+    public int getAffectedRows() {
+        return affectedRows;
+    }
+}
@@ -0,0 +1,39 @@
+package com.samsung.springtdd.models.DTO;
+
+import java.time.LocalDate;
+
+public class CourseDailyReport {
+    private final Long courseId;
+    private final LocalDate day;
+    private final long registrations;
+    private final long cancellations;
+    private final long revenue;
+
+    public CourseDailyReport(Long courseId, LocalDate day, long registrations, long cancellations, long revenue) {
+        this.courseId = courseId;
+        this.day = day;
+        this.registrations = registrations;
+        this.cancellations = cancellations;
+        this.revenue = revenue;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public long getRegistrations() {
+        return registrations;
+    }
+
+    public long getCancellations() {
+        return cancellations;
+    }
+
+    public long getRevenue() {
+        return revenue;
+    }
+}
@@ -0,0 +1,22 @@
+package com.samsung.springtdd.models.DTO;
+
+import java.util.List;
+
+public class CoursePage {
+    private final List<CourseSummary> items;
+    private final String nextCursor;
+
+    public CoursePage(List<CourseSummary> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<CourseSummary> getItems() {
+        return items;
+    }
+
+    /** Opaque cursor for the next page, or null when this is the last page. */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,44 @@
+package com.samsung.springtdd.models.DTO;
+
+public class CourseReport {
+    private final Long courseId;
+    private final String name;
+    private final long registrations;
+    private final long cancellations;
+    private final long revenue;
+
+    public CourseReport(Long courseId, String name, Long registrations, Long cancellations, Long revenue) {
+        this.courseId = courseId;
+        this.name = name;
+        this.registrations = registrations != null ? registrations : 0;
+        this.cancellations = cancellations != null ? cancellations : 0;
+        this.revenue = revenue != null ? revenue : 0;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    /**
+     * Null once the course has been deleted.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public long getRegistrations() {
+        return registrations;
+    }
+
+    public long getCancellations() {
+        return cancellations;
+    }
+
+    public long getEnrolments() {
+        return registrations - cancellations;
+    }
+
+    public long getRevenue() {
+        return revenue;
+    }
+}
@@ -0,0 +1,64 @@
+package com.samsung.springtdd.models.DTO;
+
+import com.samsung.springtdd.models.Course;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+public class CourseSummary {
+    private final Long id;
+    private final String name;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final long price;
+
+    public CourseSummary(Long id, String name, LocalDateTime startTime, LocalDateTime endTime, long price) {
+        this.id = id;
+        this.name = name;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.price = price;
+    }
+
+    public static CourseSummary from(Course course) {
+        return new CourseSummary(course.getId(), course.getName(), course.getStartTime(), course.getEndTime(),
+                course.getPrice());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public long getPrice() {
+        return price;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CourseSummary that)) {
+            return false;
+        }
+        return price == that.price && Objects.equals(id, that.id) && Objects.equals(name, that.name)
+                && Objects.equals(startTime, that.startTime) && Objects.equals(endTime, that.endTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, startTime, endTime, price);
+    }
+}
@@ -0,0 +1,22 @@
+package com.samsung.springtdd.models.DTO;
+
+public class ImportError {
+    private final long line;
+    private final String message;
+
+    public ImportError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    /**
+     * Line of the CSV input the rejected row starts on; the header is line 1.
+     */
+    public long getLine() {
+        return line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
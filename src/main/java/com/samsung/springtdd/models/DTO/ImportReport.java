@@ -0,0 +1,82 @@
+package com.samsung.springtdd.models.DTO;
+
+import java.util.List;
+
+public class ImportReport {
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String importId;
+    private final String type;
+    private final Status status;
+    private final long rowsRead;
+    private final long inserted;
+    private final long updated;
+    private final long failed;
+    private final List<ImportError> errors;
+    private final boolean errorsTruncated;
+    private final String message;
+
+    public ImportReport(String importId, String type, Status status, long rowsRead, long inserted, long updated,
+                        long failed, List<ImportError> errors, boolean errorsTruncated, String message) {
+        this.importId = importId;
+        this.type = type;
+        this.status = status;
+        this.rowsRead = rowsRead;
+        this.inserted = inserted;
+        this.updated = updated;
+        this.failed = failed;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+        this.message = message;
+    }
+
+    public String getImportId() {
+        return importId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<ImportError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * True when more rows failed than are listed in {@link #getErrors()}.
+     */
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    /**
+     * Why the import stopped early; null unless the status is FAILED.
+     */
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,25 @@
+package com.samsung.springtdd.models.DTO;
+
+public class PriceQuote {
+    private final Long courseId;
+    private final long basePrice;
+    private final long price;
+
+    public PriceQuote(Long courseId, long basePrice, long price) {
+        this.courseId = courseId;
+        this.basePrice = basePrice;
+        this.price = price;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public long getBasePrice() {
+        return basePrice;
+    }
+
+    public long getPrice() {
+        return price;
+    }
+}
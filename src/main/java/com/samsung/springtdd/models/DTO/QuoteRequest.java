@@ -0,0 +1,24 @@
+package com.samsung.springtdd.models.DTO;
+
+import java.util.List;
+
+public class QuoteRequest {
+    private String email;
+    private List<Long> courseIds;
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public List<Long> getCourseIds() {
+        return courseIds;
+    }
+
+    public void setCourseIds(List<Long> courseIds) {
+        this.courseIds = courseIds;
+    }
+}
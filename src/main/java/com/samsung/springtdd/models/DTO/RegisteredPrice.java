@@ -0,0 +1,7 @@
+package com.samsung.springtdd.models.DTO;
+
+public interface RegisteredPrice {
+    Long getCourseId();
+
+    long getPrice();
+}
@@ -0,0 +1,52 @@
+package com.samsung.springtdd.models.DTO;
+
+import java.time.LocalDateTime;
+
+public class RegistrationExportRow {
+    private final Long id;
+    private final Long studentId;
+    private final String email;
+    private final Long courseId;
+    private final String courseName;
+    private final long price;
+    private final LocalDateTime registeredDate;
+
+    public RegistrationExportRow(Long id, Long studentId, String email, Long courseId, String courseName, long price,
+                                 LocalDateTime registeredDate) {
+        this.id = id;
+        this.studentId = studentId;
+        this.email = email;
+        this.courseId = courseId;
+        this.courseName = courseName;
+        this.price = price;
+        this.registeredDate = registeredDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    public long getPrice() {
+        return price;
+    }
+
+    public LocalDateTime getRegisteredDate() {
+        return registeredDate;
+    }
+}
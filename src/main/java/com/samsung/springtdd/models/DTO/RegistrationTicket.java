@@ -0,0 +1,62 @@
+package com.samsung.springtdd.models.DTO;
+
+public class RegistrationTicket {
+    public enum Status {
+        PENDING,
+        REGISTERED,
+        FAILED
+    }
+
+    private final String ticket;
+    private final Long courseId;
+    private final String email;
+    private final Status status;
+    private final Long price;
+    private final String message;
+
+    public RegistrationTicket(String ticket, Long courseId, String email, Status status, Long price, String message) {
+        this.ticket = ticket;
+        this.courseId = courseId;
+        this.email = email;
+        this.status = status;
+        this.price = price;
+        this.message = message;
+    }
+
+    public static RegistrationTicket pending(String ticket, Long courseId, String email) {
+        return new RegistrationTicket(ticket, courseId, email, Status.PENDING, null, null);
+    }
+
+    public RegistrationTicket complete(BatchRegistrationResult result) {
+        Status outcome = result.getStatus() == BatchRegistrationResult.Status.REGISTERED ? Status.REGISTERED : Status.FAILED;
+        return new RegistrationTicket(ticket, courseId, email, outcome, result.getPrice(), result.getMessage());
+    }
+
+    public RegistrationTicket fail(String message) {
+        return new RegistrationTicket(ticket, courseId, email, Status.FAILED, null, message);
+    }
+
+    public String getTicket() {
+        return ticket;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getPrice() {
+        return price;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,13 @@
+package com.samsung.springtdd.models.DTO;
+
+import java.time.LocalDateTime;
+
+public interface ScheduledCourse {
+    Long getStudentId();
+
+    Long getCourseId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+}
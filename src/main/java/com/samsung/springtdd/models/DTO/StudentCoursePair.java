@@ -0,0 +1,7 @@
+package com.samsung.springtdd.models.DTO;
+
+public interface StudentCoursePair {
+    Long getStudentId();
+
+    Long getCourseId();
+}
@@ -0,0 +1,7 @@
+package com.samsung.springtdd.models.DTO;
+
+public interface StudentRegistrationCount {
+    Long getStudentId();
+
+    long getRegistrationCount();
+}
@@ -0,0 +1,34 @@
+package com.samsung.springtdd.models.DTO;
+
+public class WaitlistPosition {
+    private final Long courseId;
+    private final String email;
+    private final long position;
+    private final long waiting;
+
+    public WaitlistPosition(Long courseId, String email, long position, long waiting) {
+        this.courseId = courseId;
+        this.email = email;
+        this.position = position;
+        this.waiting = waiting;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * 1 for the student who gets the next free seat.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    public long getWaiting() {
+        return waiting;
+    }
+}
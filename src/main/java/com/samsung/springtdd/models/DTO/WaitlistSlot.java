@@ -0,0 +1,11 @@
+package com.samsung.springtdd.models.DTO;
+
+public interface WaitlistSlot {
+    Long getId();
+
+    Long getCourseId();
+
+    Long getStudentId();
+
+    String getEmail();
+}
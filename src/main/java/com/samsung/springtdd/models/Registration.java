@@ -6,18 +6,19 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigInteger;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "registrations")
+@Table(name = "registrations", uniqueConstraints = @UniqueConstraint(
+        name = "uk_registrations_student_course", columnNames = {"student_id", "course_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Registration {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registrations_seq")
+    @SequenceGenerator(name = "registrations_seq", sequenceName = "registrations_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -29,7 +30,7 @@ public class Registration {
     private Course course;
 
     @Column(nullable = false)
-    private BigInteger price;
+    private long price;
 
     @Column(name = "registered_date")
     private LocalDateTime registeredDate;
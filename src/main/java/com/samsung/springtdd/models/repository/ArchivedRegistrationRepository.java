@@ -0,0 +1,50 @@
+package com.samsung.springtdd.models.repository;
+
+import com.samsung.springtdd.models.ArchivedRegistration;
+import com.samsung.springtdd.models.DTO.CourseDailyReport;
+import com.samsung.springtdd.models.DTO.RegistrationExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ArchivedRegistrationRepository extends JpaRepository<ArchivedRegistration, Long> {
+    /**
+     * Copies the given registrations over with one INSERT ... SELECT, keeping their ids.
+     */
+    @Modifying
+    @Query("insert into ArchivedRegistration (id, student, course, price, registeredDate, archivedDate) " +
+            "select r.id, r.student, r.course, r.price, r.registeredDate, :now from Registration r where r.id in :ids")
+    int copyFromRegistrations(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("select new com.samsung.springtdd.models.DTO.CourseDailyReport(" +
+            "a.course.id, cast(a.registeredDate as LocalDate), count(a), 0L, sum(a.price)) " +
+            "from ArchivedRegistration a where a.registeredDate is not null " +
+            "group by a.course.id, cast(a.registeredDate as LocalDate)")
+    List<CourseDailyReport> sumByCourseAndDay();
+
+    /**
+     * Same rows and order as {@link RegistrationRepository#streamExport()}, for archived registrations.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.samsung.springtdd.models.DTO.RegistrationExportRow(" +
+            "a.id, s.id, s.email, c.id, c.name, a.price, a.registeredDate) " +
+            "from ArchivedRegistration a join a.student s join a.course c order by a.id")
+    Stream<RegistrationExportRow> streamExport();
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.samsung.springtdd.models.DTO.RegistrationExportRow(" +
+            "a.id, s.id, s.email, c.id, c.name, a.price, a.registeredDate) " +
+            "from ArchivedRegistration a join a.student s join a.course c " +
+            "where a.registeredDate >= :from and a.registeredDate < :to order by a.id")
+    Stream<RegistrationExportRow> streamExportBetween(@Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,59 @@
+package com.samsung.springtdd.models.repository;
+
+import com.samsung.springtdd.models.CourseDailyStats;
+import com.samsung.springtdd.models.DTO.CourseDailyReport;
+import com.samsung.springtdd.models.DTO.CourseReport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface CourseDailyStatsRepository extends JpaRepository<CourseDailyStats, Long> {
+    /**
+     * Adds the same figures to each course's row for the day in one conditional UPDATE, so concurrent
+     * writers never lose an increment. Returns the number of rows updated; courses without a row for
+     * the day yet are not counted.
+     */
+    @Modifying
+    @Query("update CourseDailyStats s set s.registrations = s.registrations + :registrations, " +
+            "s.cancellations = s.cancellations + :cancellations, s.revenue = s.revenue + :revenue " +
+            "where s.courseId in :courseIds and s.day = :day")
+    int addToDay(@Param("courseIds") Collection<Long> courseIds,
+                 @Param("day") LocalDate day,
+                 @Param("registrations") long registrations,
+                 @Param("cancellations") long cancellations,
+                 @Param("revenue") long revenue);
+
+    @Query("select s.courseId from CourseDailyStats s where s.courseId in :courseIds and s.day = :day")
+    List<Long> findCourseIdsWithDay(@Param("courseIds") Collection<Long> courseIds, @Param("day") LocalDate day);
+
+    boolean existsByDayBefore(LocalDate day);
+
+    /**
+     * Every row's course and day with its figures; used once, when the statistics are seeded.
+     */
+    @Query("select new com.samsung.springtdd.models.DTO.CourseDailyReport(" +
+            "s.courseId, s.day, s.registrations, s.cancellations, s.revenue) from CourseDailyStats s")
+    List<CourseDailyReport> findAllDays();
+
+    /**
+     * Per-course totals over the daily rows in [from, to]; at most one row per course and day is read,
+     * however many registrations there were.
+     */
+    @Query("select new com.samsung.springtdd.models.DTO.CourseReport(" +
+            "s.courseId, c.name, sum(s.registrations), sum(s.cancellations), sum(s.revenue)) " +
+            "from CourseDailyStats s left join Course c on c.id = s.courseId " +
+            "where s.day between :from and :to group by s.courseId, c.name order by s.courseId")
+    List<CourseReport> sumByCourse(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select new com.samsung.springtdd.models.DTO.CourseDailyReport(" +
+            "s.courseId, s.day, s.registrations, s.cancellations, s.revenue) " +
+            "from CourseDailyStats s where s.courseId = :courseId and s.day between :from and :to order by s.day")
+    List<CourseDailyReport> findDaily(@Param("courseId") Long courseId,
+                                      @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to);
+}
@@ -1,11 +1,81 @@
 package com.samsung.springtdd.models.repository;
 
 import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByStartTimeAfter(LocalDateTime dateTime);
-}
\ No newline at end of file
+
+    @Query("select new com.samsung.springtdd.models.DTO.CourseSummary(c.id, c.name, c.startTime, c.endTime, c.price) " +
+            "from Course c where c.startTime > :now order by c.startTime, c.id")
+    List<CourseSummary> findUpcomingPage(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Keyset page: the rows strictly after (afterStartTime, afterId) in (start_time, id) order.
+     */
+    @Query("select new com.samsung.springtdd.models.DTO.CourseSummary(c.id, c.name, c.startTime, c.endTime, c.price) " +
+            "from Course c where c.startTime > :now " +
+            "and (c.startTime > :afterStartTime or (c.startTime = :afterStartTime and c.id > :afterId)) " +
+            "order by c.startTime, c.id")
+    List<CourseSummary> findUpcomingPageAfter(@Param("now") LocalDateTime now,
+                                              @Param("afterStartTime") LocalDateTime afterStartTime,
+                                              @Param("afterId") Long afterId,
+                                              Limit limit);
+
+    /**
+     * Forward-only cursor over every upcoming course. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.samsung.springtdd.models.DTO.CourseSummary(c.id, c.name, c.startTime, c.endTime, c.price) " +
+            "from Course c where c.startTime > :now order by c.startTime, c.id")
+    Stream<CourseSummary> streamUpcoming(@Param("now") LocalDateTime now);
+
+    @Query("select new com.samsung.springtdd.models.DTO.CourseSummary(c.id, c.name, c.startTime, c.endTime, c.price) " +
+            "from Course c")
+    List<CourseSummary> findAllSummaries();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Course> findByIdInOrderById(Collection<Long> ids);
+
+    /**
+     * Row locks on the given courses without loading them.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c.id from Course c where c.id in :courseIds order by c.id")
+    List<Long> lockByIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    /**
+     * Takes one seat in a single conditional UPDATE, so concurrent registrations never oversell.
+     * Returns 0 when the course is full (or does not exist).
+     */
+    @Modifying
+    @Query("update Course c set c.seatsTaken = c.seatsTaken + 1 " +
+            "where c.id = :courseId and (c.capacity is null or c.seatsTaken < c.capacity)")
+    int reserveSeat(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("update Course c set c.seatsTaken = c.seatsTaken - :seats where c.id = :courseId and c.seatsTaken >= :seats")
+    int releaseSeats(@Param("courseId") Long courseId, @Param("seats") long seats);
+
+    /**
+     * Gives back one seat on each listed course; used when one student drops several courses at once.
+     */
+    @Modifying
+    @Query("update Course c set c.seatsTaken = c.seatsTaken - 1 where c.id in :courseIds and c.seatsTaken > 0")
+    int releaseOneSeatEach(@Param("courseIds") Collection<Long> courseIds);
+}
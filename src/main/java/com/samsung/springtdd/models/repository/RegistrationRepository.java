@@ -1,13 +1,133 @@
 package com.samsung.springtdd.models.repository;
 
-import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CourseDailyReport;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.RegisteredPrice;
+import com.samsung.springtdd.models.DTO.RegistrationExportRow;
+import com.samsung.springtdd.models.DTO.ScheduledCourse;
+import com.samsung.springtdd.models.DTO.StudentCoursePair;
+import com.samsung.springtdd.models.DTO.StudentRegistrationCount;
 import com.samsung.springtdd.models.Registration;
 import com.samsung.springtdd.models.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface RegistrationRepository extends JpaRepository<Registration, Long> {
     List<Registration> findByStudent(Student student);
-    void deleteByStudentAndCourse(Student student, Course course);
-}
\ No newline at end of file
+
+    /**
+     * Every registration the student holds, archived ones included, which is what the loyalty discount
+     * counts. The archive side is an index lookup on its student column.
+     */
+    @Query("select count(r) + (select count(a) from ArchivedRegistration a where a.student.id = :studentId) " +
+            "from Registration r where r.student.id = :studentId")
+    long countByStudentId(@Param("studentId") Long studentId);
+
+    /**
+     * Bulk DELETE by ids: no entities are loaded and no per-row delete is issued.
+     */
+    @Modifying
+    @Query("delete from Registration r where r.student.id = :studentId and r.course.id = :courseId")
+    int deleteByStudentIdAndCourseId(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("delete from Registration r where r.student.id = :studentId and r.course.id in :courseIds")
+    int deleteByStudentIdAndCourseIdIn(@Param("studentId") Long studentId,
+                                       @Param("courseIds") Collection<Long> courseIds);
+
+    @Modifying
+    @Query("delete from Registration r where r.course.id = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+
+    @Query("select r.course.id from Registration r where r.student.id = :studentId and r.course.id in :courseIds")
+    List<Long> findRegisteredCourseIds(@Param("studentId") Long studentId,
+                                       @Param("courseIds") Collection<Long> courseIds);
+
+    @Query("select r.course.id as courseId, r.price as price from Registration r " +
+            "where r.student.id = :studentId and r.course.id in :courseIds")
+    List<RegisteredPrice> findPrices(@Param("studentId") Long studentId,
+                                     @Param("courseIds") Collection<Long> courseIds);
+
+    @Query("select coalesce(sum(r.price), 0) from Registration r where r.course.id = :courseId")
+    long sumPriceByCourseId(@Param("courseId") Long courseId);
+
+    /**
+     * Registrations grouped by course and registration day, for seeding the daily statistics.
+     */
+    @Query("select new com.samsung.springtdd.models.DTO.CourseDailyReport(" +
+            "r.course.id, cast(r.registeredDate as LocalDate), count(r), 0L, sum(r.price)) " +
+            "from Registration r where r.registeredDate is not null " +
+            "group by r.course.id, cast(r.registeredDate as LocalDate)")
+    List<CourseDailyReport> sumByCourseAndDay();
+
+    @Query("select new com.samsung.springtdd.models.DTO.CourseSummary(c.id, c.name, c.startTime, c.endTime, c.price) " +
+            "from Registration r join r.course c " +
+            "where r.student.id = :studentId and c.startTime > :now order by r.id")
+    List<CourseSummary> findFutureCoursesByStudentId(@Param("studentId") Long studentId,
+                                                     @Param("now") LocalDateTime now);
+
+    /**
+     * The courses of each student that have not ended yet; earlier ones can no longer overlap anything
+     * a student may register for.
+     */
+    @Query("select r.student.id as studentId, c.id as courseId, c.startTime as startTime, c.endTime as endTime " +
+            "from Registration r join r.course c where r.student.id in :studentIds and c.endTime > :now")
+    List<ScheduledCourse> findSchedules(@Param("studentIds") Collection<Long> studentIds,
+                                        @Param("now") LocalDateTime now);
+
+    /**
+     * {@link #countByStudentId} for several students at once.
+     */
+    @Query("select s.id as studentId, " +
+            "(select count(r) from Registration r where r.student.id = s.id) + " +
+            "(select count(a) from ArchivedRegistration a where a.student.id = s.id) as registrationCount " +
+            "from Student s where s.id in :studentIds")
+    List<StudentRegistrationCount> countByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * The next batch of registrations whose course has ended, oldest first.
+     */
+    @Query("select r.id from Registration r join r.course c where c.endTime < :now order by r.id")
+    List<Long> findEndedIds(@Param("now") LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Query("delete from Registration r where r.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select r.student.id as studentId, r.course.id as courseId from Registration r " +
+            "where r.student.id in :studentIds and r.course.id in :courseIds")
+    List<StudentCoursePair> findPairs(@Param("studentIds") Collection<Long> studentIds,
+                                      @Param("courseIds") Collection<Long> courseIds);
+
+    /**
+     * Forward-only cursor over every registration with its student's email and course name, in id order.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.samsung.springtdd.models.DTO.RegistrationExportRow(" +
+            "r.id, s.id, s.email, c.id, c.name, r.price, r.registeredDate) " +
+            "from Registration r join r.student s join r.course c order by r.id")
+    Stream<RegistrationExportRow> streamExport();
+
+    /**
+     * Like {@link #streamExport()}, limited to registrations made in [from, to).
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.samsung.springtdd.models.DTO.RegistrationExportRow(" +
+            "r.id, s.id, s.email, c.id, c.name, r.price, r.registeredDate) " +
+            "from Registration r join r.student s join r.course c " +
+            "where r.registeredDate >= :from and r.registeredDate < :to order by r.id")
+    Stream<RegistrationExportRow> streamExportBetween(@Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
+}
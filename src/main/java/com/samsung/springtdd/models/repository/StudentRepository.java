@@ -1,9 +1,44 @@
 package com.samsung.springtdd.models.repository;
 
 import com.samsung.springtdd.models.Student;
-
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
     Student findByEmail(String email);
+
+    /**
+     * Takes normalized (trimmed, lower-case) emails and matches them against lower(email), so rows stored
+     * before emails were normalized are still found. Backed by {@code idx_students_email_lower}. Legacy
+     * rows whose emails differ only in case all match; they come in id order, so callers keeping the
+     * first one per email pick the same student as {@link #findIdByEmail}.
+     */
+    @Query("select s from Student s where lower(s.email) in :emails order by s.id")
+    List<Student> findByEmailIn(@Param("emails") Collection<String> emails);
+
+    /**
+     * Like {@link #findByEmailIn}, the email must already be normalized. Of several legacy rows matching
+     * it, the lowest id is returned.
+     */
+    @Query("select min(s.id) from Student s where lower(s.email) = :email")
+    Long findIdByEmail(@Param("email") String email);
+
+    /** Returns which of the given normalized emails already belong to a student, compared like {@link #findByEmailIn}. */
+    @Query("select lower(s.email) from Student s where lower(s.email) in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Row locks on the given students without loading them. Registration writes take them after the
+     * course locks, so that checks against a student's schedule and the insert that follows are not
+     * interleaved with another write for the same student.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s.id from Student s where s.id in :studentIds order by s.id")
+    List<Long> lockByIdIn(@Param("studentIds") Collection<Long> studentIds);
 }
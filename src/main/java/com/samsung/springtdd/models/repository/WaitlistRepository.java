@@ -0,0 +1,54 @@
+package com.samsung.springtdd.models.repository;
+
+import com.samsung.springtdd.models.DTO.WaitlistSlot;
+import com.samsung.springtdd.models.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+    /**
+     * The waitlists of several courses in one query, each in promotion order (joinedAt, then id).
+     */
+    @Query("select w.id as id, w.course.id as courseId, s.id as studentId, s.email as email " +
+            "from WaitlistEntry w join w.student s " +
+            "where w.course.id in :courseIds order by w.course.id, w.joinedAt, w.id")
+    List<WaitlistSlot> findQueues(@Param("courseIds") Collection<Long> courseIds);
+
+    /**
+     * Which of the given courses have anyone waiting; confirms queues cached as empty.
+     */
+    @Query("select distinct w.course.id from WaitlistEntry w where w.course.id in :courseIds")
+    List<Long> findCourseIdsWithEntries(@Param("courseIds") Collection<Long> courseIds);
+
+    @Query("select count(w) from WaitlistEntry w where w.course.id = :courseId")
+    long countByCourseId(@Param("courseId") Long courseId);
+
+    /**
+     * How many entries of the same course are ahead of the given one. Compared in the database, so the
+     * timestamp precision of the column does not matter.
+     */
+    @Query("select count(w) from WaitlistEntry w, WaitlistEntry me where me.id = :id and w.course = me.course " +
+            "and (w.joinedAt < me.joinedAt or (w.joinedAt = me.joinedAt and w.id < me.id))")
+    long countAhead(@Param("id") Long id);
+
+    /**
+     * Removes one entry by id. Returns 0 when it is already gone, so two concurrent promotions
+     * never hand the same entry a seat.
+     */
+    @Modifying
+    @Query("delete from WaitlistEntry w where w.id = :id")
+    int deleteEntry(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from WaitlistEntry w where w.student.id = :studentId and w.course.id = :courseId")
+    int deleteByStudentIdAndCourseId(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("delete from WaitlistEntry w where w.course.id = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+}
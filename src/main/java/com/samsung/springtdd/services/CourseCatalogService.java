@@ -0,0 +1,94 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.DTO.CoursePage;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Read side of the course catalog: keyset-paginated pages on (start_time, id) and a streaming
+ * dump backed by a database cursor.
+ */
+@Service
+public class CourseCatalogService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final CourseRepository courseRepository;
+
+    public CourseCatalogService(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public CoursePage findUpcoming(String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // Fetch one extra row to learn whether another page exists without a COUNT.
+        Limit fetch = Limit.of(limit + 1);
+        List<CourseSummary> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = courseRepository.findUpcomingPage(now, fetch);
+        } else {
+            Cursor last = Cursor.decode(cursor);
+            rows = courseRepository.findUpcomingPageAfter(now, last.startTime, last.id, fetch);
+        }
+
+        if (rows.size() <= limit) {
+            return new CoursePage(rows, null);
+        }
+        List<CourseSummary> items = rows.subList(0, limit);
+        CourseSummary last = items.get(limit - 1);
+        return new CoursePage(items, new Cursor(last.getStartTime(), last.getId()).encode());
+    }
+
+    /**
+     * Hands every upcoming course to the consumer in (start_time, id) order without materializing
+     * the result set.
+     */
+    @Transactional(readOnly = true)
+    public void streamUpcoming(Consumer<CourseSummary> consumer) {
+        try (Stream<CourseSummary> courses = courseRepository.streamUpcoming(LocalDateTime.now())) {
+            courses.forEach(consumer);
+        }
+    }
+
+    /** Position of the last row of a page, encoded as base64url("startTime_id"). */
+    static final class Cursor {
+        final LocalDateTime startTime;
+        final Long id;
+
+        Cursor(LocalDateTime startTime, Long id) {
+            this.startTime = startTime;
+            this.id = id;
+        }
+
+        String encode() {
+            String raw = startTime + "_" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('_');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.valueOf(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.samsung.springtdd.services;
+
+/**
+ * Published after a course row is created, updated or deleted, so in-memory views of the catalog
+ * can refresh themselves. A null course id means any number of courses may have changed (e.g. a bulk
+ * import). Listeners run after the surrounding transaction commits.
+ */
+public class CourseChangedEvent {
+    private final Long courseId;
+
+    public CourseChangedEvent(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+}
@@ -0,0 +1,12 @@
+package com.samsung.springtdd.services;
+
+/**
+ * A request with the same Idempotency-Key is still running and did not finish within the wait
+ * timeout. The caller should retry later; the original request may still succeed.
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException(String key) {
+        super("A request with Idempotency-Key " + key + " is still in progress, try again later");
+    }
+}
@@ -0,0 +1,106 @@
+package com.samsung.springtdd.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory store of recent results keyed by the client's Idempotency-Key. The first
+ * request with a key runs the action. Concurrent and later requests with the same key get its
+ * stored result without running it again. Failed actions are not stored, so a retry after an
+ * error runs again. A concurrent request waits at most {@code idempotency.wait-timeout} for the
+ * first one to finish.
+ */
+@Component
+public class IdempotencyStore {
+    private final Cache<String, Entry> entries;
+    private final Duration waitTimeout;
+
+    public IdempotencyStore(@Value("${idempotency.maximum-size:100000}") long maximumSize,
+                            @Value("${idempotency.ttl:1h}") Duration ttl,
+                            @Value("${idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Runs the action once per key. The fingerprint identifies the request payload; reusing a key
+     * for a different payload is rejected.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Outcome<T> execute(String key, String fingerprint, Supplier<T> action) {
+        Entry created = new Entry(fingerprint);
+        Entry existing = entries.asMap().putIfAbsent(key, created);
+        if (existing != null) {
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw new IllegalArgumentException("Idempotency-Key " + key + " was already used for a different request");
+            }
+            return new Outcome<>((T) await(key, existing), true);
+        }
+
+        try {
+            T result = action.get();
+            created.result.complete(result);
+            return new Outcome<>(result, false);
+        } catch (Throwable e) {
+            // Errors too: an entry left incomplete would block every retry with this key.
+            entries.asMap().remove(key, created);
+            created.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Object await(String key, Entry entry) {
+        try {
+            return entry.result.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) e.getCause();
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException(key);
+        }
+    }
+
+    public static final class Outcome<T> {
+        private final T result;
+        private final boolean replayed;
+
+        Outcome(T result, boolean replayed) {
+            this.result = result;
+            this.replayed = replayed;
+        }
+
+        public T getResult() {
+            return result;
+        }
+
+        public boolean isReplayed() {
+            return replayed;
+        }
+    }
+
+    private static final class Entry {
+        final String fingerprint;
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
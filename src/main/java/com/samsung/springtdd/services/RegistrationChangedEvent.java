@@ -0,0 +1,18 @@
+package com.samsung.springtdd.services;
+
+/**
+ * Published when a student's registrations change. A null email means registrations of any number of
+ * students may have changed (e.g. a course roster was dropped). Listeners run after the surrounding
+ * transaction commits.
+ */
+public class RegistrationChangedEvent {
+    private final String email;
+
+    public RegistrationChangedEvent(String email) {
+        this.email = email;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,150 @@
+package com.samsung.springtdd.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.samsung.springtdd.models.DTO.RegistrationExportRow;
+import com.samsung.springtdd.models.repository.ArchivedRegistrationRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Full dumps of the registrations and the registrations archive for auditors. Rows come from database
+ * cursors as DTOs, so nothing is kept in the persistence context and memory use does not depend on
+ * the table sizes.
+ * <p>
+ * The live and archived rows are read through two cursors. Archiving moves a row from one table to the
+ * other in a single transaction, so both cursors must read the same snapshot. Exports therefore run
+ * under REPEATABLE READ; under READ COMMITTED a row archived between the two queries would be exported
+ * twice.
+ */
+@Service
+public class RegistrationExportService {
+    static final String CSV_HEADER = "id,student_id,email,course_id,course_name,price,registered_date";
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final RegistrationRepository registrationRepository;
+    private final ArchivedRegistrationRepository archivedRegistrationRepository;
+    private final ObjectWriter rowWriter;
+
+    public RegistrationExportService(RegistrationRepository registrationRepository,
+                                     ArchivedRegistrationRepository archivedRegistrationRepository,
+                                     ObjectMapper objectMapper) {
+        this.registrationRepository = registrationRepository;
+        this.archivedRegistrationRepository = archivedRegistrationRepository;
+        this.rowWriter = objectMapper.writerFor(RegistrationExportRow.class);
+    }
+
+    /**
+     * Hands the registrations made in [from, to) to the consumer in id order, archived ones included.
+     * With neither bound, registrations without a registration date are included too.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void stream(LocalDateTime from, LocalDateTime to, Consumer<RegistrationExportRow> consumer) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        boolean unbounded = from == null && to == null;
+        LocalDateTime start = from != null ? from : EARLIEST;
+        LocalDateTime end = to != null ? to : LATEST;
+        try (Stream<RegistrationExportRow> current = unbounded
+                ? registrationRepository.streamExport()
+                : registrationRepository.streamExportBetween(start, end);
+             Stream<RegistrationExportRow> archived = unbounded
+                     ? archivedRegistrationRepository.streamExport()
+                     : archivedRegistrationRepository.streamExportBetween(start, end)) {
+            merge(current.iterator(), archived.iterator(), consumer);
+        }
+    }
+
+    /**
+     * Merges two id-ordered cursors; an archived row keeps its id, so no id appears in both.
+     */
+    private static void merge(Iterator<RegistrationExportRow> first, Iterator<RegistrationExportRow> second,
+                              Consumer<RegistrationExportRow> consumer) {
+        RegistrationExportRow a = first.hasNext() ? first.next() : null;
+        RegistrationExportRow b = second.hasNext() ? second.next() : null;
+        while (a != null || b != null) {
+            if (b == null || (a != null && a.getId() < b.getId())) {
+                consumer.accept(a);
+                a = first.hasNext() ? first.next() : null;
+            } else {
+                consumer.accept(b);
+                b = second.hasNext() ? second.next() : null;
+            }
+        }
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void writeCsv(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        stream(from, to, row -> {
+            try {
+                writer.write(String.valueOf(row.getId()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getStudentId()));
+                writer.write(',');
+                writer.write(csvField(row.getEmail()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getCourseId()));
+                writer.write(',');
+                writer.write(csvField(row.getCourseName()));
+                writer.write(',');
+                writer.write(Long.toString(row.getPrice()));
+                writer.write(',');
+                if (row.getRegisteredDate() != null) {
+                    writer.write(row.getRegisteredDate().toString());
+                }
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void writeNdjson(LocalDateTime from, LocalDateTime to, OutputStream out) {
+        stream(from, to, row -> {
+            try {
+                out.write(rowWriter.writeValueAsBytes(row));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Quotes a field when it contains a separator, quote or line break, doubling inner quotes.
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,11 @@
+package com.samsung.springtdd.services;
+
+/**
+ * Back-pressure signal from the write-behind queue: the caller should retry later.
+ */
+public class RegistrationQueueFullException extends RuntimeException {
+
+    public RegistrationQueueFullException() {
+        super("Registration queue is full, try again later");
+    }
+}
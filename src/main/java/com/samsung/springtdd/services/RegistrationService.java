@@ -1,93 +1,465 @@
 package com.samsung.springtdd.services;
 
+import com.samsung.springtdd.config.ReadYourWrites;
 import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.BatchRegistrationResult;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.PriceQuote;
+import com.samsung.springtdd.models.DTO.RegisteredPrice;
+import com.samsung.springtdd.models.DTO.RegistrationRequest;
+import com.samsung.springtdd.models.DTO.StudentCoursePair;
+import com.samsung.springtdd.models.DTO.StudentRegistrationCount;
+import com.samsung.springtdd.models.DTO.WaitlistSlot;
 import com.samsung.springtdd.models.Registration;
 import com.samsung.springtdd.models.Student;
 import com.samsung.springtdd.models.repository.CourseRepository;
 import com.samsung.springtdd.models.repository.RegistrationRepository;
 import com.samsung.springtdd.models.repository.StudentRepository;
+import com.samsung.springtdd.services.cache.CourseCache;
+import com.samsung.springtdd.services.cache.StudentCache;
+import com.samsung.springtdd.services.cache.StudentSchedules;
+import com.samsung.springtdd.services.pricing.PricingContext;
+import com.samsung.springtdd.services.pricing.PricingEngine;
+import com.samsung.springtdd.services.reporting.CourseStatsRecorder;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigInteger;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
+@Timed("registration.service")
 public class RegistrationService {
     private final CourseRepository courseRepository;
     private final StudentRepository studentRepository;
     private final RegistrationRepository registrationRepository;
+    private final PricingEngine pricingEngine;
+    private final CourseCache courseCache;
+    private final StudentCache studentCache;
+    private final StudentSchedules studentSchedules;
+    private final WaitlistService waitlistService;
+    private final CourseStatsRecorder courseStatsRecorder;
+    private final ReadYourWrites readYourWrites;
+    private final ApplicationEventPublisher eventPublisher;
 
     public RegistrationService(CourseRepository courseRepository,
                                StudentRepository studentRepository,
-                               RegistrationRepository registrationRepository) {
+                               RegistrationRepository registrationRepository,
+                               PricingEngine pricingEngine,
+                               CourseCache courseCache,
+                               StudentCache studentCache,
+                               StudentSchedules studentSchedules,
+                               WaitlistService waitlistService,
+                               CourseStatsRecorder courseStatsRecorder,
+                               ReadYourWrites readYourWrites,
+                               ApplicationEventPublisher eventPublisher) {
         this.courseRepository = courseRepository;
         this.studentRepository = studentRepository;
         this.registrationRepository = registrationRepository;
+        this.pricingEngine = pricingEngine;
+        this.courseCache = courseCache;
+        this.studentCache = studentCache;
+        this.studentSchedules = studentSchedules;
+        this.waitlistService = waitlistService;
+        this.courseStatsRecorder = courseStatsRecorder;
+        this.readYourWrites = readYourWrites;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<Course> registerCourse(Long courseId, String email) {
-        Student student = findStudentByEmail(email);
-        Course course = findCourseById(courseId);
+    @Transactional
+    public List<CourseSummary> registerCourse(Long courseId, String email) {
+        Long studentId = findStudentIdByEmail(email);
+        CourseSummary course = findCourseById(courseId);
 
         validateFutureCourse(course, "register");
-        BigInteger price = calculatePrice(course, student);
+        // Course row, then student row, the order every registration write takes. With the student
+        // locked, the schedule read from the primary holds until this registration commits.
+        courseRepository.lockByIdIn(List.of(courseId));
+        studentRepository.lockByIdIn(List.of(studentId));
+        validateNoConflict(course, studentSchedules.getCurrent(email, studentId));
+        reserveSeat(course);
+        long price = calculatePrice(course, studentId);
 
         Registration registration = Registration.builder()
-                .student(student)
-                .course(course)
+                .student(studentRepository.getReferenceById(studentId))
+                .course(courseRepository.getReferenceById(courseId))
                 .price(price)
                 .registeredDate(LocalDateTime.now())
                 .build();
-        registrationRepository.save(registration);
+        try {
+            registrationRepository.saveAndFlush(registration);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException(alreadyRegisteredMessage(courseId));
+        }
+        courseStatsRecorder.record(new CourseStatsRecorder.Changes().registered(courseId, price));
+        eventPublisher.publishEvent(new RegistrationChangedEvent(email));
+
+        return getFutureCourses(studentId);
+    }
+
+    /**
+     * Registers many (courseId, email) pairs in one transaction. Students, courses and existing
+     * registration counts are resolved with one set-based query each, and the new rows are written
+     * with a single saveAll so Hibernate can send them as JDBC batches. The course rows are locked
+     * while seats are counted, so each course takes one UPDATE per batch, and then the student rows,
+     * so the overlap checks hold until the batch commits. Pairs that are already
+     * registered, or repeated within the batch, fail instead of hitting the unique constraint, and so
+     * do courses that overlap one the student holds or is given earlier in the same batch.
+     * Every item gets its own result; an invalid item is reported as failed without aborting the others.
+     */
+    @Transactional
+    public List<BatchRegistrationResult> registerCourses(List<RegistrationRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one registration");
+        }
+
+        Set<String> emails = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        for (RegistrationRequest request : requests) {
+            if (request.getEmail() != null) {
+                emails.add(StudentCache.normalizeEmail(request.getEmail()));
+            }
+            if (request.getCourseId() != null) {
+                courseIds.add(request.getCourseId());
+            }
+        }
+
+        Map<String, Student> studentsByEmail = new HashMap<>();
+        for (Student student : studentRepository.findByEmailIn(emails)) {
+            // Lowest id first; same student as StudentCache resolves for legacy case-duplicates.
+            studentsByEmail.putIfAbsent(StudentCache.normalizeEmail(student.getEmail()), student);
+        }
+        Map<Long, Course> coursesById = new HashMap<>();
+        for (Course course : courseRepository.findByIdInOrderById(courseIds)) {
+            coursesById.put(course.getId(), course);
+        }
+        Map<Long, Long> registrationCounts = new HashMap<>();
+        Set<Enrolment> enrolments = new HashSet<>();
+        Map<String, StudentSchedules.Schedule> schedules = Map.of();
+        if (!studentsByEmail.isEmpty()) {
+            Map<String, Long> studentIdsByEmail = new HashMap<>();
+            studentsByEmail.forEach((email, student) -> studentIdsByEmail.put(email, student.getId()));
+            List<Long> studentIds = studentsByEmail.values().stream().map(Student::getId).toList();
+            studentRepository.lockByIdIn(studentIds);
+            schedules = studentSchedules.getAllCurrent(studentIdsByEmail);
+            for (StudentRegistrationCount count : registrationRepository.countByStudentIds(studentIds)) {
+                registrationCounts.put(count.getStudentId(), count.getRegistrationCount());
+            }
+            if (!coursesById.isEmpty()) {
+                for (StudentCoursePair pair : registrationRepository.findPairs(studentIds, coursesById.keySet())) {
+                    enrolments.add(new Enrolment(pair.getStudentId(), pair.getCourseId()));
+                }
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Registration> registrations = new ArrayList<>();
+        Map<Long, List<Course>> addedByStudent = new HashMap<>();
+        List<BatchRegistrationResult> results = new ArrayList<>(requests.size());
+        for (RegistrationRequest request : requests) {
+            Long courseId = request.getCourseId();
+            String email = request.getEmail();
+            String normalizedEmail = StudentCache.normalizeEmail(email);
+            Student student = studentsByEmail.get(normalizedEmail);
+            if (student == null) {
+                results.add(BatchRegistrationResult.failed(courseId, email, "Student with email " + email + " not found"));
+                continue;
+            }
+            Course course = coursesById.get(courseId);
+            if (course == null) {
+                results.add(BatchRegistrationResult.failed(courseId, email, "Course with ID " + courseId + " not found"));
+                continue;
+            }
+            if (course.getStartTime().isBefore(now)) {
+                results.add(BatchRegistrationResult.failed(courseId, email, "Cannot register a past course"));
+                continue;
+            }
+            if (enrolments.contains(new Enrolment(student.getId(), courseId))) {
+                results.add(BatchRegistrationResult.failed(courseId, email, alreadyRegisteredMessage(courseId)));
+                continue;
+            }
+            List<Course> added = addedByStudent.computeIfAbsent(student.getId(), id -> new ArrayList<>());
+            Long conflict = findConflict(schedules.get(normalizedEmail), added, course);
+            if (conflict != null) {
+                results.add(BatchRegistrationResult.failed(courseId, email, conflictMessage(courseId, conflict)));
+                continue;
+            }
+            if (isFull(course)) {
+                results.add(BatchRegistrationResult.failed(courseId, email, "Course with ID " + courseId + " is full"));
+                continue;
+            }
+            enrolments.add(new Enrolment(student.getId(), courseId));
+            added.add(course);
+            course.setSeatsTaken(course.getSeatsTaken() + 1);
+
+            long existingRegistrations = registrationCounts.getOrDefault(student.getId(), 0L);
+            registrationCounts.put(student.getId(), existingRegistrations + 1);
+            long price = pricingEngine.price(course.getPrice(),
+                    PricingContext.ofRegistrationCount(existingRegistrations));
+
+            registrations.add(Registration.builder()
+                    .student(student)
+                    .course(course)
+                    .price(price)
+                    .registeredDate(now)
+                    .build());
+            results.add(BatchRegistrationResult.registered(courseId, email, price));
+        }
 
-        return getFutureCourses(student);
+        registrationRepository.saveAll(registrations);
+        CourseStatsRecorder.Changes changes = new CourseStatsRecorder.Changes();
+        registrations.forEach(registration -> changes.registered(registration.getCourse().getId(), registration.getPrice()));
+        courseStatsRecorder.record(changes);
+        registrations.stream()
+                .map(registration -> registration.getStudent().getEmail())
+                .distinct()
+                .forEach(email -> eventPublisher.publishEvent(new RegistrationChangedEvent(email)));
+        return results;
     }
 
-    public List<Course> getRegisteredCourses(String email) {
-        return getFutureCourses(findStudentByEmail(email));
+    /**
+     * Prices each course as the student's next registration, using the current registration count.
+     * Quotes are independent: pricing one course does not change the count used for the others.
+     */
+    @Transactional(readOnly = true)
+    public List<PriceQuote> quotePrices(String email, List<Long> courseIds) {
+        if (courseIds == null || courseIds.isEmpty()) {
+            throw new IllegalArgumentException("Quote must contain at least one course");
+        }
+        return readYourWrites.read(email, () -> quote(email, courseIds));
+    }
+
+    private List<PriceQuote> quote(String email, List<Long> courseIds) {
+        Long studentId = findStudentIdByEmail(email);
+        Map<Long, Course> coursesById = new HashMap<>();
+        for (Course course : courseRepository.findAllById(new HashSet<>(courseIds))) {
+            coursesById.put(course.getId(), course);
+        }
+        PricingContext context = PricingContext.ofRegistrationCount(
+                registrationRepository.countByStudentId(studentId));
+
+        List<PriceQuote> quotes = new ArrayList<>(courseIds.size());
+        for (Long courseId : courseIds) {
+            Course course = coursesById.get(courseId);
+            if (course == null) {
+                throw new IllegalArgumentException("Course with ID " + courseId + " not found");
+            }
+            quotes.add(new PriceQuote(courseId, course.getPrice(), pricingEngine.price(course.getPrice(), context)));
+        }
+        return quotes;
+    }
+
+    /**
+     * Read-only, so it runs on the read replica when routing is enabled, unless the student has just
+     * written. The pin is taken before the first statement, which is when the connection is chosen.
+     */
+    @Transactional(readOnly = true)
+    public List<CourseSummary> getRegisteredCourses(String email) {
+        return readYourWrites.read(email, () -> getFutureCourses(findStudentIdByEmail(email)));
     }
 
+    /**
+     * Drops the registration. If anyone is on the course's waitlist, the seat goes straight to the
+     * first of them instead of being released.
+     */
+    @Transactional
     public boolean unregisterCourse(Long courseId, String email) {
-        Student student = findStudentByEmail(email);
-        Course course = findCourseById(courseId);
+        Long studentId = findStudentIdByEmail(email);
+        CourseSummary course = findCourseById(courseId);
 
         validateFutureCourse(course, "unregister");
-        registrationRepository.deleteByStudentAndCourse(student, course);
+        List<RegisteredPrice> registered = registrationRepository.findPrices(studentId, List.of(courseId));
+        if (registered.isEmpty()) {
+            return true;
+        }
+        // Course row before registration rows, the order every registration write takes; see unregisterAll.
+        courseRepository.lockByIdIn(List.of(courseId));
+        int deleted = registrationRepository.deleteByStudentIdAndCourseId(studentId, courseId);
+        if (deleted > 0) {
+            CourseStatsRecorder.Changes changes = new CourseStatsRecorder.Changes()
+                    .cancelled(courseId, deleted, registered.get(0).getPrice());
+            WaitlistSlot next = waitlistService.claimNext(List.of(course)).get(courseId);
+            if (next != null) {
+                promote(course, next, changes);
+            } else {
+                courseRepository.releaseSeats(courseId, deleted);
+            }
+            courseStatsRecorder.record(changes);
+            eventPublisher.publishEvent(new RegistrationChangedEvent(email));
+        }
         return true;
     }
 
-    private Student findStudentByEmail(String email) {
-        Student student = studentRepository.findByEmail(email);
-        if (student == null) {
-            throw new IllegalArgumentException("Student with email " + email + " not found");
+    /**
+     * Drops a student's registrations for several courses with one DELETE, then gives back one seat
+     * per dropped course with one UPDATE. Seats on courses with a waitlist go to the first student
+     * waiting instead. Courses the student is not registered for are ignored.
+     *
+     * @return the number of registrations removed
+     */
+    @Transactional
+    public int unregisterCourses(String email, List<Long> courseIds) {
+        if (courseIds == null || courseIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one course ID is required");
         }
-        return student;
+        Long studentId = findStudentIdByEmail(email);
+        Set<Long> uniqueCourseIds = new HashSet<>(courseIds);
+        Map<Long, CourseSummary> coursesById = courseCache.findAll(uniqueCourseIds);
+        for (Long courseId : uniqueCourseIds) {
+            CourseSummary course = coursesById.get(courseId);
+            if (course == null) {
+                throw new IllegalArgumentException("Course with ID " + courseId + " not found");
+            }
+            validateFutureCourse(course, "unregister");
+        }
+
+        List<RegisteredPrice> registered = registrationRepository.findPrices(studentId, uniqueCourseIds);
+        if (registered.isEmpty()) {
+            return 0;
+        }
+        List<Long> registeredCourseIds = registered.stream().map(RegisteredPrice::getCourseId).toList();
+        courseRepository.lockByIdIn(registeredCourseIds);
+        int deleted = registrationRepository.deleteByStudentIdAndCourseIdIn(studentId, registeredCourseIds);
+        if (deleted != registeredCourseIds.size()) {
+            // A concurrent unregister removed some of these rows; roll back rather than guess which seats to free.
+            throw new IllegalStateException("Registrations changed concurrently, please retry");
+        }
+        Map<Long, WaitlistSlot> promotions = waitlistService.claimNext(
+                registeredCourseIds.stream().map(coursesById::get).toList());
+        List<Long> releasedCourseIds = registeredCourseIds.stream()
+                .filter(courseId -> !promotions.containsKey(courseId))
+                .toList();
+        if (!releasedCourseIds.isEmpty()) {
+            courseRepository.releaseOneSeatEach(releasedCourseIds);
+        }
+        CourseStatsRecorder.Changes changes = new CourseStatsRecorder.Changes();
+        registered.forEach(registration -> changes.cancelled(registration.getCourseId(), 1, registration.getPrice()));
+        promotions.forEach((courseId, next) -> promote(coursesById.get(courseId), next, changes));
+        courseStatsRecorder.record(changes);
+        eventPublisher.publishEvent(new RegistrationChangedEvent(email));
+        return deleted;
+    }
+
+    /**
+     * Drops every registration for a course (e.g. when it is cancelled) with one DELETE, and empties
+     * its waitlist: nobody is promoted into a course being cleared out. The course row is locked
+     * first, so no registration of the course can be added or dropped between summing the prices and
+     * the DELETE. Every other registration write also locks the course row before its registration
+     * rows, so this cannot deadlock with them.
+     *
+     * @return the number of registrations removed
+     */
+    @Transactional
+    public int unregisterAll(Long courseId) {
+        validateFutureCourse(findCourseById(courseId), "unregister");
+        courseRepository.lockByIdIn(List.of(courseId));
+        long revenue = registrationRepository.sumPriceByCourseId(courseId);
+        int deleted = registrationRepository.deleteByCourseId(courseId);
+        waitlistService.clear(courseId);
+        if (deleted > 0) {
+            courseRepository.releaseSeats(courseId, deleted);
+            courseStatsRecorder.record(new CourseStatsRecorder.Changes().cancelled(courseId, deleted, revenue));
+            eventPublisher.publishEvent(new RegistrationChangedEvent(null));
+        }
+        return deleted;
     }
 
-    private Course findCourseById(Long courseId) {
-        return courseRepository.findById(courseId)
+    private Long findStudentIdByEmail(String email) {
+        return studentCache.findStudentId(email)
+                .orElseThrow(() -> new StudentNotFoundException(email));
+    }
+
+    private CourseSummary findCourseById(Long courseId) {
+        return courseCache.find(courseId)
                 .orElseThrow(() -> new IllegalArgumentException("Course with ID " + courseId + " not found"));
     }
 
-    private void validateFutureCourse(Course course, String action) {
+    private void validateFutureCourse(CourseSummary course, String action) {
         if (course.getStartTime().isBefore(LocalDateTime.now())) {
             throw new IllegalStateException("Cannot " + action + " a past course");
         }
     }
 
-    private BigInteger calculatePrice(Course course, Student student) {
-        BigInteger price = course.getPrice();
-        if (registrationRepository.findByStudent(student).size() >= 2) {
-            price = price.multiply(BigInteger.valueOf(75)).divide(BigInteger.valueOf(100));
+    private void validateNoConflict(CourseSummary course, StudentSchedules.Schedule schedule) {
+        if (schedule.contains(course.getId())) {
+            throw new IllegalStateException(alreadyRegisteredMessage(course.getId()));
+        }
+        Long conflict = schedule.findConflict(course.getStartTime(), course.getEndTime());
+        if (conflict != null) {
+            throw new IllegalStateException(conflictMessage(course.getId(), conflict));
         }
-        return price;
     }
 
-    private List<Course> getFutureCourses(Student student) {
-        return registrationRepository.findByStudent(student).stream()
-                .map(Registration::getCourse)
-                .filter(course -> course.getStartTime().isAfter(LocalDateTime.now()))
-                .toList();
+    /**
+     * Checks the indexed schedule first; the few courses added earlier in the same batch are scanned.
+     */
+    private Long findConflict(StudentSchedules.Schedule schedule, List<Course> added, Course course) {
+        Long conflict = schedule.findConflict(course.getStartTime(), course.getEndTime());
+        if (conflict != null || course.getStartTime() == null || course.getEndTime() == null) {
+            return conflict;
+        }
+        for (Course other : added) {
+            if (other.getStartTime() != null && other.getEndTime() != null
+                    && other.getStartTime().isBefore(course.getEndTime())
+                    && other.getEndTime().isAfter(course.getStartTime())) {
+                return other.getId();
+            }
+        }
+        return null;
+    }
+
+    private void reserveSeat(CourseSummary course) {
+        if (courseRepository.reserveSeat(course.getId()) == 0) {
+            throw new IllegalStateException("Course with ID " + course.getId() + " is full");
+        }
+    }
+
+    private String alreadyRegisteredMessage(Long courseId) {
+        return "Already registered for course with ID " + courseId;
+    }
+
+    private String conflictMessage(Long courseId, Long conflictingCourseId) {
+        return "Course with ID " + courseId + " overlaps course with ID " + conflictingCourseId;
+    }
+
+    private boolean isFull(Course course) {
+        return course.getCapacity() != null && course.getSeatsTaken() >= course.getCapacity();
+    }
+
+    /**
+     * Registers a student taken off the waitlist on a seat that was never released, priced like any
+     * other registration.
+     */
+    private void promote(CourseSummary course, WaitlistSlot next, CourseStatsRecorder.Changes changes) {
+        long price = calculatePrice(course, next.getStudentId());
+        changes.registered(course.getId(), price);
+        registrationRepository.save(Registration.builder()
+                .student(studentRepository.getReferenceById(next.getStudentId()))
+                .course(courseRepository.getReferenceById(course.getId()))
+                .price(price)
+                .registeredDate(LocalDateTime.now())
+                .build());
+        eventPublisher.publishEvent(new RegistrationChangedEvent(next.getEmail()));
+    }
+
+    private long calculatePrice(CourseSummary course, Long studentId) {
+        PricingContext context = PricingContext.ofRegistrationCount(
+                registrationRepository.countByStudentId(studentId));
+        return pricingEngine.price(course.getPrice(), context);
+    }
+
+    private List<CourseSummary> getFutureCourses(Long studentId) {
+        return registrationRepository.findFutureCoursesByStudentId(studentId, LocalDateTime.now());
+    }
+
+    private record Enrolment(Long studentId, Long courseId) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,226 @@
+package com.samsung.springtdd.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.samsung.springtdd.models.DTO.BatchRegistrationResult;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.RegistrationRequest;
+import com.samsung.springtdd.models.DTO.RegistrationTicket;
+import com.samsung.springtdd.services.cache.CourseCache;
+import com.samsung.springtdd.services.cache.StudentCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional write-behind mode for POST /register. Requests are validated against the in-memory
+ * caches, queued on a bounded queue and answered with a ticket. Worker threads drain the queue in
+ * batches and persist each batch through {@link RegistrationService#registerCourses}, which
+ * handles seats, pricing and JDBC batching in one transaction. A batch that fails as a whole is
+ * retried in halves, so one bad request only fails its own ticket. A full queue rejects new work
+ * instead of growing. Pending tickets are never evicted; finished ones are kept for
+ * {@code ticket-ttl}, up to ten times the queue capacity.
+ */
+@Service
+public class RegistrationWriteBehindService {
+    private static final Logger log = LoggerFactory.getLogger(RegistrationWriteBehindService.class);
+
+    private final RegistrationService registrationService;
+    private final StudentCache studentCache;
+    private final CourseCache courseCache;
+    private final boolean enabled;
+    private final int workers;
+    private final int maxBatchSize;
+    private final BlockingQueue<RegistrationTicket> queue;
+    private final Cache<String, RegistrationTicket> tickets;
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private volatile boolean running;
+
+    public RegistrationWriteBehindService(RegistrationService registrationService,
+                                          StudentCache studentCache,
+                                          CourseCache courseCache,
+                                          @Value("${registration.write-behind.enabled:false}") boolean enabled,
+                                          @Value("${registration.write-behind.queue-capacity:10000}") int queueCapacity,
+                                          @Value("${registration.write-behind.workers:2}") int workers,
+                                          @Value("${registration.write-behind.max-batch-size:200}") int maxBatchSize,
+                                          @Value("${registration.write-behind.ticket-ttl:1h}") Duration ticketTtl) {
+        this.registrationService = registrationService;
+        this.studentCache = studentCache;
+        this.courseCache = courseCache;
+        this.enabled = enabled;
+        this.workers = workers;
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        long ttlNanos = ticketTtl.toNanos();
+        this.tickets = Caffeine.newBuilder()
+                // Zero weight exempts pending tickets from size eviction.
+                .maximumWeight(queueCapacity * 10L)
+                .<String, RegistrationTicket>weigher((id, ticket) -> isPending(ticket) ? 0 : 1)
+                .expireAfter(new Expiry<String, RegistrationTicket>() {
+                    @Override
+                    public long expireAfterCreate(String id, RegistrationTicket ticket, long currentTime) {
+                        return isPending(ticket) ? Long.MAX_VALUE : ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String id, RegistrationTicket ticket, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(id, ticket, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String id, RegistrationTicket ticket, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                // Evict on the calling thread, as CourseCache does, so the bound holds as tickets finish.
+                .executor(Runnable::run)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            Thread worker = Thread.ofPlatform().name("registration-writer-" + i).start(this::runWorker);
+            workerThreads.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workerThreads) {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        // Anything still queued was accepted with a ticket, so persist it before going away.
+        int drained;
+        do {
+            drained = drainOnce();
+        } while (drained > 0);
+    }
+
+    /**
+     * Validates the request against the caches and queues it. Throws the same errors as the
+     * synchronous path for unknown students, unknown courses and past courses.
+     */
+    public RegistrationTicket submit(Long courseId, String email) {
+        if (studentCache.findStudentId(email).isEmpty()) {
+            throw new StudentNotFoundException(email);
+        }
+        CourseSummary course = courseCache.find(courseId)
+                .orElseThrow(() -> new IllegalArgumentException("Course with ID " + courseId + " not found"));
+        if (course.getStartTime().isBefore(LocalDateTime.now())) {
+            throw new IllegalStateException("Cannot register a past course");
+        }
+
+        RegistrationTicket ticket = RegistrationTicket.pending(UUID.randomUUID().toString(), courseId, email);
+        tickets.put(ticket.getTicket(), ticket);
+        if (!queue.offer(ticket)) {
+            tickets.invalidate(ticket.getTicket());
+            throw new RegistrationQueueFullException();
+        }
+        return ticket;
+    }
+
+    public RegistrationTicket getStatus(String ticket) {
+        RegistrationTicket status = tickets.getIfPresent(ticket);
+        if (status == null) {
+            throw new IllegalArgumentException("Ticket " + ticket + " not found");
+        }
+        return status;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                RegistrationTicket first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    List<RegistrationTicket> batch = new ArrayList<>(maxBatchSize);
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                    persist(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Persists up to one batch from the queue on the calling thread. Returns the number of
+     * registrations taken.
+     */
+    int drainOnce() {
+        List<RegistrationTicket> batch = new ArrayList<>(maxBatchSize);
+        queue.drainTo(batch, maxBatchSize);
+        if (!batch.isEmpty()) {
+            persist(batch);
+        }
+        return batch.size();
+    }
+
+    private void persist(List<RegistrationTicket> batch) {
+        List<BatchRegistrationResult> results;
+        try {
+            results = registrationService.registerCourses(requests(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                log.warn("Failed to persist {} queued registrations, retrying in halves", batch.size(), e);
+                int half = batch.size() / 2;
+                persist(batch.subList(0, half));
+                persist(batch.subList(half, batch.size()));
+            } else {
+                log.error("Failed to persist queued registration {}", batch.get(0).getTicket(), e);
+                RegistrationTicket ticket = batch.get(0);
+                tickets.put(ticket.getTicket(), ticket.fail("Registration could not be saved, please retry"));
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            RegistrationTicket ticket = batch.get(i);
+            tickets.put(ticket.getTicket(), ticket.complete(results.get(i)));
+        }
+    }
+
+    private static List<RegistrationRequest> requests(List<RegistrationTicket> batch) {
+        List<RegistrationRequest> requests = new ArrayList<>(batch.size());
+        for (RegistrationTicket ticket : batch) {
+            RegistrationRequest request = new RegistrationRequest();
+            request.setCourseId(ticket.getCourseId());
+            request.setEmail(ticket.getEmail());
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    private static boolean isPending(RegistrationTicket ticket) {
+        return ticket.getStatus() == RegistrationTicket.Status.PENDING;
+    }
+}
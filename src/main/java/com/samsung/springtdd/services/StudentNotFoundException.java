@@ -0,0 +1,18 @@
+package com.samsung.springtdd.services;
+
+/**
+ * Thrown for unknown student emails. Unknown emails are a normal, high-volume outcome (bots,
+ * misconfigured clients), so this exception skips stack trace capture; it still maps to a 400
+ * through the {@link IllegalArgumentException} handler.
+ */
+public class StudentNotFoundException extends IllegalArgumentException {
+
+    public StudentNotFoundException(String email) {
+        super("Student with email " + email + " not found");
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
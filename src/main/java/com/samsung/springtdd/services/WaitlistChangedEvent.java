@@ -0,0 +1,17 @@
+package com.samsung.springtdd.services;
+
+/**
+ * Published when a student joins or leaves a course's waitlist, or is promoted off it. Listeners run
+ * after the surrounding transaction commits.
+ */
+public class WaitlistChangedEvent {
+    private final Long courseId;
+
+    public WaitlistChangedEvent(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+}
@@ -0,0 +1,221 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.WaitlistPosition;
+import com.samsung.springtdd.models.DTO.WaitlistSlot;
+import com.samsung.springtdd.models.WaitlistEntry;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import com.samsung.springtdd.models.repository.WaitlistRepository;
+import com.samsung.springtdd.services.cache.StudentCache;
+import com.samsung.springtdd.services.cache.StudentSchedules;
+import com.samsung.springtdd.services.cache.WaitlistQueues;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-course waitlists for full courses. The waitlist_entries table is the source of truth; positions
+ * are read from {@link WaitlistQueues}. Seats are handed out by {@link RegistrationService}, which
+ * calls {@link #claimNext} when a registration is dropped.
+ */
+@Service
+public class WaitlistService {
+    private final WaitlistRepository waitlistRepository;
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final RegistrationRepository registrationRepository;
+    private final StudentCache studentCache;
+    private final StudentSchedules studentSchedules;
+    private final WaitlistQueues waitlistQueues;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public WaitlistService(WaitlistRepository waitlistRepository,
+                           CourseRepository courseRepository,
+                           StudentRepository studentRepository,
+                           RegistrationRepository registrationRepository,
+                           StudentCache studentCache,
+                           StudentSchedules studentSchedules,
+                           WaitlistQueues waitlistQueues,
+                           ApplicationEventPublisher eventPublisher) {
+        this.waitlistRepository = waitlistRepository;
+        this.courseRepository = courseRepository;
+        this.studentRepository = studentRepository;
+        this.registrationRepository = registrationRepository;
+        this.studentCache = studentCache;
+        this.studentSchedules = studentSchedules;
+        this.waitlistQueues = waitlistQueues;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public WaitlistPosition join(Long courseId, String email) {
+        Long studentId = findStudentIdByEmail(email);
+        // Serialises with the unregister paths, which hold this lock while deciding between releasing
+        // the seat and promoting: a free seat and a waiting student never commit side by side. The
+        // student row follows, as in every registration write, so the schedule checks below hold.
+        courseRepository.lockByIdIn(List.of(courseId));
+        studentRepository.lockByIdIn(List.of(studentId));
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new IllegalArgumentException("Course with ID " + courseId + " not found"));
+        if (course.getStartTime().isBefore(LocalDateTime.now())) {
+            throw new IllegalStateException("Cannot join the waitlist of a past course");
+        }
+        if (course.getCapacity() == null || course.getSeatsTaken() < course.getCapacity()) {
+            throw new IllegalStateException("Course with ID " + courseId + " has free seats, register instead");
+        }
+        StudentSchedules.Schedule schedule = studentSchedules.getCurrent(email, studentId);
+        if (schedule.contains(courseId)) {
+            throw new IllegalStateException("Already registered for course with ID " + courseId);
+        }
+        Long conflict = schedule.findConflict(course.getStartTime(), course.getEndTime());
+        if (conflict != null) {
+            throw new IllegalStateException("Course with ID " + courseId + " overlaps course with ID " + conflict);
+        }
+
+        WaitlistEntry entry = WaitlistEntry.builder()
+                .student(studentRepository.getReferenceById(studentId))
+                .course(course)
+                .joinedAt(LocalDateTime.now())
+                .build();
+        try {
+            waitlistRepository.saveAndFlush(entry);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Already on the waitlist for course with ID " + courseId);
+        }
+        eventPublisher.publishEvent(new WaitlistChangedEvent(courseId));
+
+        long ahead = waitlistRepository.countAhead(entry.getId());
+        return new WaitlistPosition(courseId, email, ahead + 1, waitlistRepository.countByCourseId(courseId));
+    }
+
+    public WaitlistPosition getPosition(Long courseId, String email) {
+        WaitlistQueues.Queue queue = waitlistQueues.get(courseId);
+        int position = queue.positionOf(email);
+        if (position == 0) {
+            throw new IllegalArgumentException(notWaitingMessage(courseId, email));
+        }
+        return new WaitlistPosition(courseId, email, position, queue.size());
+    }
+
+    /**
+     * Empties a course's waitlist, e.g. when all its registrations are dropped because it is cancelled.
+     *
+     * @return the number of students removed from the waitlist
+     */
+    @Transactional
+    public int clear(Long courseId) {
+        int removed = waitlistRepository.deleteByCourseId(courseId);
+        if (removed > 0) {
+            eventPublisher.publishEvent(new WaitlistChangedEvent(courseId));
+        }
+        return removed;
+    }
+
+    @Transactional
+    public void leave(Long courseId, String email) {
+        Long studentId = findStudentIdByEmail(email);
+        if (waitlistRepository.deleteByStudentIdAndCourseId(studentId, courseId) == 0) {
+            throw new IllegalArgumentException(notWaitingMessage(courseId, email));
+        }
+        eventPublisher.publishEvent(new WaitlistChangedEvent(courseId));
+    }
+
+    /**
+     * Takes the first student off each course's waitlist, in the caller's transaction, which holds the
+     * courses' row locks. Students who registered for the course directly while waiting, or for a
+     * course overlapping it, are dropped from the list and skipped; so is a student already claimed
+     * here for an overlapping course. A queue that was already cached as empty is confirmed against the
+     * table, since an entry added on another instance never invalidates it here.
+     *
+     * @return the claimed entry per course id; courses with nobody waiting are absent
+     */
+    @Transactional
+    public Map<Long, WaitlistSlot> claimNext(Collection<CourseSummary> courses) {
+        Map<Long, CourseSummary> coursesById = new HashMap<>();
+        courses.forEach(course -> coursesById.put(course.getId(), course));
+        Set<Long> cachedEmpty = waitlistQueues.cachedEmpty(coursesById.keySet());
+        Map<Long, WaitlistQueues.Queue> queues = waitlistQueues.getAll(coursesById.keySet());
+        Set<Long> waiting = cachedEmpty.isEmpty()
+                ? Set.of()
+                : new HashSet<>(waitlistRepository.findCourseIdsWithEntries(cachedEmpty));
+        Map<Long, WaitlistSlot> claimed = new HashMap<>();
+        for (Map.Entry<Long, WaitlistQueues.Queue> queue : queues.entrySet()) {
+            if (queue.getValue().isEmpty() && !waiting.contains(queue.getKey())) {
+                continue;
+            }
+            CourseSummary course = coursesById.get(queue.getKey());
+            WaitlistSlot slot = claimFirst(course, queue.getValue().slots(), claimed, coursesById);
+            if (slot == null) {
+                // Everyone in the cached queue has left or been promoted since it was loaded, or it was
+                // cached empty and someone has joined since.
+                slot = claimFirst(course, waitlistRepository.findQueues(List.of(course.getId())), claimed, coursesById);
+            }
+            if (slot != null) {
+                claimed.put(course.getId(), slot);
+            }
+        }
+        return claimed;
+    }
+
+    private WaitlistSlot claimFirst(CourseSummary course, List<WaitlistSlot> slots, Map<Long, WaitlistSlot> claimed,
+                                    Map<Long, CourseSummary> coursesById) {
+        for (WaitlistSlot slot : slots) {
+            if (waitlistRepository.deleteEntry(slot.getId()) == 0) {
+                continue;
+            }
+            eventPublisher.publishEvent(new WaitlistChangedEvent(slot.getCourseId()));
+            // Asked of the table: a cached schedule may miss a registration whose commit event is still
+            // pending, and promoting that student would break the unique key and fail the caller.
+            if (!registrationRepository.findRegisteredCourseIds(slot.getStudentId(), List.of(course.getId())).isEmpty()) {
+                continue;
+            }
+            StudentSchedules.Schedule schedule = studentSchedules.get(slot.getEmail(), slot.getStudentId());
+            if (schedule.findConflict(course.getStartTime(), course.getEndTime()) == null
+                    && !overlapsClaimed(slot, course, claimed, coursesById)) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Courses claimed earlier in this call are not in the cached schedule until the caller commits.
+     */
+    private static boolean overlapsClaimed(WaitlistSlot slot, CourseSummary course, Map<Long, WaitlistSlot> claimed,
+                                           Map<Long, CourseSummary> coursesById) {
+        if (course.getStartTime() == null || course.getEndTime() == null) {
+            return false;
+        }
+        for (Map.Entry<Long, WaitlistSlot> other : claimed.entrySet()) {
+            CourseSummary otherCourse = coursesById.get(other.getKey());
+            if (other.getValue().getStudentId().equals(slot.getStudentId())
+                    && otherCourse.getStartTime() != null && otherCourse.getEndTime() != null
+                    && otherCourse.getStartTime().isBefore(course.getEndTime())
+                    && otherCourse.getEndTime().isAfter(course.getStartTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Long findStudentIdByEmail(String email) {
+        return studentCache.findStudentId(email)
+                .orElseThrow(() -> new StudentNotFoundException(email));
+    }
+
+    private String notWaitingMessage(Long courseId, String email) {
+        return "Student " + email + " is not on the waitlist for course with ID " + courseId;
+    }
+}
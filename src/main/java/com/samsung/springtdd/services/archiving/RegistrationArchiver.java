@@ -0,0 +1,92 @@
+package com.samsung.springtdd.services.archiving;
+
+import com.samsung.springtdd.models.repository.ArchivedRegistrationRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves registrations for courses that have ended from {@code registrations} to
+ * {@code registrations_archive}, so that the per-student queries on the hot path only see courses
+ * that can still be registered for, unregistered from or overlapped. Each batch of
+ * {@code registration-archive.batch-size} rows is copied and deleted in its own transaction.
+ * <p>
+ * No cache needs to be told: the cached course lists and schedules only hold courses that have not
+ * ended, and the registration counts behind the loyalty discount read both tables.
+ */
+@Service
+@ConditionalOnProperty(name = "registration-archive.enabled", havingValue = "true", matchIfMissing = true)
+public class RegistrationArchiver {
+    private static final Logger log = LoggerFactory.getLogger(RegistrationArchiver.class);
+
+    private final RegistrationRepository registrationRepository;
+    private final ArchivedRegistrationRepository archivedRegistrationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public RegistrationArchiver(RegistrationRepository registrationRepository,
+                                ArchivedRegistrationRepository archivedRegistrationRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${registration-archive.batch-size:1000}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("registration-archive.batch-size must be positive");
+        }
+        this.registrationRepository = registrationRepository;
+        this.archivedRegistrationRepository = archivedRegistrationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${registration-archive.interval:1h}",
+            initialDelayString = "${registration-archive.initial-delay:10m}")
+    public void archiveOnSchedule() {
+        try {
+            archiveEnded(LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            // Another instance archived the same rows first; whatever is left is picked up next time.
+            log.warn("Registration archiving stopped early: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Archives every registration whose course ended before {@code now}, batch by batch.
+     *
+     * @return the number of registrations moved
+     */
+    public long archiveEnded(LocalDateTime now) {
+        long archived = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(now));
+            archived += moved;
+        } while (moved == batchSize);
+        if (archived > 0) {
+            log.info("Archived {} registrations for courses that ended before {}", archived, now);
+        }
+        return archived;
+    }
+
+    private int archiveBatch(LocalDateTime now) {
+        List<Long> ids = registrationRepository.findEndedIds(now, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int copied = archivedRegistrationRepository.copyFromRegistrations(ids, now);
+        int deleted = registrationRepository.deleteByIdIn(ids);
+        if (copied != deleted) {
+            throw new IllegalStateException("Archived " + copied + " registrations but removed " + deleted);
+        }
+        return ids.size();
+    }
+}
@@ -0,0 +1,123 @@
+package com.samsung.springtdd.services.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.samsung.springtdd.config.ReadWriteRoutingDataSource;
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CacheStatistics;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.services.CourseChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache of course rows in front of {@link CourseRepository}. Entries are immutable
+ * {@link CourseSummary} snapshots, bounded by size and age, and dropped when a
+ * {@link CourseChangedEvent} commits. Unknown ids are not cached. Rows are loaded outside the
+ * cache; a load that overlaps an invalidation is not kept, as in {@link WaitlistQueues}.
+ */
+@Component
+public class CourseCache {
+    private final CourseRepository courseRepository;
+    private final Cache<Long, CourseSummary> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public CourseCache(CourseRepository courseRepository,
+                       @Value("${course-cache.maximum-size:10000}") long maximumSize,
+                       @Value("${course-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this(courseRepository, maximumSize, expireAfterWrite, Ticker.systemTicker());
+    }
+
+    CourseCache(CourseRepository courseRepository, long maximumSize, Duration expireAfterWrite, Ticker ticker) {
+        this.courseRepository = courseRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .ticker(ticker)
+                // Expired entries are cleaned up on the calling thread, so a miss followed by put() always
+                // counts the eviction instead of racing a cleanup on the common pool.
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<CourseSummary> find(Long courseId) {
+        CourseSummary course = cache.getIfPresent(courseId);
+        if (course == null) {
+            // Loaded outside the cache's compute lock, for the same reason as in StudentCache.
+            long invalidationsBefore = invalidations.get();
+            course = ReadWriteRoutingDataSource.onPrimary(
+                    () -> courseRepository.findById(courseId).map(CourseSummary::from).orElse(null));
+            if (course != null) {
+                cache.put(courseId, course);
+                if (invalidations.get() != invalidationsBefore) {
+                    // A change committed while the query ran and may be missing from what was just cached.
+                    cache.invalidate(courseId);
+                }
+            }
+        }
+        return Optional.ofNullable(course);
+    }
+
+    /**
+     * Bulk variant of {@link #find}: all misses are loaded with one query. Unknown ids are absent from the result.
+     */
+    public Map<Long, CourseSummary> findAll(Collection<Long> courseIds) {
+        Map<Long, CourseSummary> courses = new HashMap<>(cache.getAllPresent(courseIds));
+        Set<Long> missing = new HashSet<>(courseIds);
+        missing.removeAll(courses.keySet());
+        if (missing.isEmpty()) {
+            return courses;
+        }
+
+        long invalidationsBefore = invalidations.get();
+        Map<Long, CourseSummary> loaded = new HashMap<>();
+        for (Course course : ReadWriteRoutingDataSource.onPrimary(() -> courseRepository.findAllById(missing))) {
+            loaded.put(course.getId(), CourseSummary.from(course));
+        }
+        cache.putAll(loaded);
+        if (invalidations.get() != invalidationsBefore) {
+            cache.invalidateAll(loaded.keySet());
+        }
+        courses.putAll(loaded);
+        return courses;
+    }
+
+    public void invalidate(Long courseId) {
+        invalidations.incrementAndGet();
+        cache.invalidate(courseId);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.getCourseId() == null) {
+            invalidateAll();
+        } else {
+            invalidate(event.getCourseId());
+        }
+    }
+
+    public CacheStatistics statistics() {
+        cache.cleanUp();
+        return CacheStatistics.from(cache.stats(), cache.estimatedSize());
+    }
+}
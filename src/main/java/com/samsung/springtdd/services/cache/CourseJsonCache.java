@@ -0,0 +1,133 @@
+package com.samsung.springtdd.services.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.samsung.springtdd.models.DTO.CacheStatistics;
+import com.samsung.springtdd.models.DTO.CoursePage;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.services.CourseChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Keeps each course's JSON as UTF-8 bytes so list responses are assembled by copying bytes instead of
+ * running Jackson over every course on every request. An entry is only reused for an equal
+ * {@link CourseSummary}, so a caller holding newer data never gets old JSON; entries are also dropped
+ * when a {@link CourseChangedEvent} commits.
+ */
+@Component
+public class CourseJsonCache {
+    private static final byte[] EMPTY_ARRAY = {'[', ']'};
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter courseWriter;
+    private final Cache<Long, Entry> cache;
+
+    public CourseJsonCache(ObjectMapper objectMapper,
+                           @Value("${course-json-cache.maximum-size:10000}") long maximumSize) {
+        this.objectMapper = objectMapper;
+        this.courseWriter = objectMapper.writerFor(CourseSummary.class);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * The courses as a JSON array, e.g. {@code [{"id":1,...},{"id":2,...}]}.
+     */
+    public byte[] toJsonArray(List<CourseSummary> courses) {
+        if (courses.isEmpty()) {
+            return EMPTY_ARRAY.clone();
+        }
+        byte[][] parts = new byte[courses.size()][];
+        int length = 1 + courses.size();
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = json(courses.get(i));
+            length += parts[i].length;
+        }
+        byte[] array = new byte[length];
+        array[0] = '[';
+        int position = 1;
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                array[position++] = ',';
+            }
+            System.arraycopy(parts[i], 0, array, position, parts[i].length);
+            position += parts[i].length;
+        }
+        array[position] = ']';
+        return array;
+    }
+
+    /**
+     * Same shape Jackson would produce for {@link CoursePage}: {@code {"items":[...],"nextCursor":...}}.
+     */
+    public byte[] toJson(CoursePage page) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write("{\"items\":".getBytes(StandardCharsets.UTF_8));
+            out.write(toJsonArray(page.getItems()));
+            out.write(",\"nextCursor\":".getBytes(StandardCharsets.UTF_8));
+            out.write(objectMapper.writeValueAsBytes(page.getNextCursor()));
+            out.write('}');
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void write(CourseSummary course, OutputStream out) throws IOException {
+        out.write(json(course));
+    }
+
+    public void invalidate(Long courseId) {
+        cache.invalidate(courseId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.getCourseId() == null) {
+            invalidateAll();
+        } else {
+            invalidate(event.getCourseId());
+        }
+    }
+
+    public CacheStatistics statistics() {
+        cache.cleanUp();
+        return CacheStatistics.from(cache.stats(), cache.estimatedSize());
+    }
+
+    private byte[] json(CourseSummary course) {
+        Entry entry = cache.getIfPresent(course.getId());
+        if (entry != null && entry.course().equals(course)) {
+            return entry.json();
+        }
+        try {
+            byte[] json = courseWriter.writeValueAsBytes(course);
+            cache.put(course.getId(), new Entry(course, json));
+            return json;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Entry(CourseSummary course, byte[] json) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.samsung.springtdd.services.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.services.CourseChangedEvent;
+import com.samsung.springtdd.services.RegistrationChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version stamps for each student's registered-courses list, used as ETags. A stamp is dropped when
+ * the student's registrations or any course change, and it also stops being valid once the earliest
+ * listed course starts, because the list only holds future courses. A dropped stamp is replaced by
+ * a new, never reused version. Tags carry a per-process prefix, so they never match after a restart.
+ * <p>
+ * Stamps are dropped by this process's change events only, so a write handled by another instance
+ * leaves the stamp here in place until it expires, {@code registration-versions.expire-after-write}
+ * after it was recorded. That defaults to the read-your-writes window, so another instance's write
+ * shows within the same bound as a replica read. Deployments that need less than that set
+ * {@code registration-versions.enabled=false}, which turns ETags off.
+ */
+@Component
+public class RegistrationVersions {
+    private final String prefix = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final boolean enabled;
+    private final Cache<String, Stamp> stamps;
+
+    @Autowired
+    public RegistrationVersions(@Value("${registration-versions.enabled:true}") boolean enabled,
+                                @Value("${registration-versions.maximum-size:100000}") long maximumSize,
+                                @Value("${registration-versions.expire-after-write:5s}") Duration expireAfterWrite) {
+        this(enabled, maximumSize, expireAfterWrite, Ticker.systemTicker());
+    }
+
+    RegistrationVersions(boolean enabled, long maximumSize, Duration expireAfterWrite, Ticker ticker) {
+        this.enabled = enabled;
+        this.stamps = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * The tag of the list last served for this email, or null when there is none or it may be outdated.
+     */
+    public String currentTag(String email) {
+        if (!enabled) {
+            return null;
+        }
+        Stamp stamp = stamps.getIfPresent(key(email));
+        if (stamp == null || !LocalDateTime.now().isBefore(stamp.validUntil())) {
+            return null;
+        }
+        return tag(stamp.version());
+    }
+
+    /**
+     * Call before reading the list; pass the result to {@link #record}. A change that commits in
+     * between drops the stamp, so the tag handed out can only be older than the data, never newer.
+     */
+    public long begin(String email) {
+        return stamps.asMap()
+                .computeIfAbsent(key(email), k -> new Stamp(sequence.incrementAndGet(), LocalDateTime.MIN))
+                .version();
+    }
+
+    /**
+     * Returns the tag for the list just read, or null when ETags are disabled.
+     */
+    public String record(String email, long version, List<CourseSummary> courses) {
+        if (!enabled) {
+            return null;
+        }
+        LocalDateTime validUntil = LocalDateTime.MAX;
+        for (CourseSummary course : courses) {
+            if (course.getStartTime().isBefore(validUntil)) {
+                validUntil = course.getStartTime();
+            }
+        }
+        Stamp recorded = new Stamp(version, validUntil);
+        stamps.asMap().computeIfPresent(key(email), (k, stamp) -> stamp.version() == version ? recorded : stamp);
+        return tag(version);
+    }
+
+    public void invalidate(String email) {
+        stamps.invalidate(key(email));
+    }
+
+    public void invalidateAll() {
+        stamps.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrationChanged(RegistrationChangedEvent event) {
+        if (event.getEmail() == null) {
+            invalidateAll();
+        } else {
+            invalidate(event.getEmail());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        invalidateAll();
+    }
+
+    private String tag(long version) {
+        return prefix + "-" + version;
+    }
+
+    private static String key(String email) {
+        return StudentCache.normalizeEmail(email);
+    }
+
+    private record Stamp(long version, LocalDateTime validUntil) {
+    }
+}
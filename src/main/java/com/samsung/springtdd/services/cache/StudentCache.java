@@ -0,0 +1,115 @@
+package com.samsung.springtdd.services.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.samsung.springtdd.config.ReadWriteRoutingDataSource;
+import com.samsung.springtdd.models.DTO.CacheStatistics;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches email to student id lookups. Emails are trimmed and lower-cased before lookup, and
+ * unknown emails are cached as misses for a short time so repeated lookups of the same bad
+ * address do not reach the database.
+ */
+@Component
+public class StudentCache {
+    private final StudentRepository studentRepository;
+    private final Cache<String, Optional<Long>> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public StudentCache(StudentRepository studentRepository,
+                        @Value("${student-cache.maximum-size:100000}") long maximumSize,
+                        @Value("${student-cache.expire-after-write:10m}") Duration expireAfterWrite,
+                        @Value("${student-cache.negative-expire-after-write:30s}") Duration negativeExpireAfterWrite) {
+        this(studentRepository, maximumSize, expireAfterWrite, negativeExpireAfterWrite, Ticker.systemTicker());
+    }
+
+    StudentCache(StudentRepository studentRepository, long maximumSize, Duration expireAfterWrite,
+                 Duration negativeExpireAfterWrite, Ticker ticker) {
+        this.studentRepository = studentRepository;
+        long hitNanos = expireAfterWrite.toNanos();
+        long missNanos = negativeExpireAfterWrite.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Optional<Long>>() {
+                    @Override
+                    public long expireAfterCreate(String email, Optional<Long> studentId, long currentTime) {
+                        return studentId.isPresent() ? hitNanos : missNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String email, Optional<Long> studentId, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(email, studentId, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String email, Optional<Long> studentId, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                // Same-thread maintenance, as in CourseCache.
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public Optional<Long> findStudentId(String email) {
+        String normalized = normalizeEmail(email);
+        if (normalized == null || normalized.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<Long> studentId = cache.getIfPresent(normalized);
+        if (studentId == null) {
+            // Loaded outside Caffeine's compute: that holds a hash-bin lock for the whole query, and a query
+            // waiting for a pooled connection would then block unrelated keys held by connection owners.
+            // Not pinned to the primary: that would also pin the caller's read-only transaction. Ids never
+            // change, so only a miss can be stale, and a miss read from the replica is not cached.
+            long invalidationsBefore = invalidations.get();
+            studentId = Optional.ofNullable(studentRepository.findIdByEmail(normalized));
+            if (studentId.isPresent() || !ReadWriteRoutingDataSource.isReplicaRead()) {
+                cache.put(normalized, studentId);
+                if (invalidations.get() != invalidationsBefore) {
+                    // Same race as in CourseCache, e.g. a miss loaded just before an import created the student.
+                    cache.invalidate(normalized);
+                }
+            }
+        }
+        return studentId;
+    }
+
+    public void invalidate(String email) {
+        String normalized = normalizeEmail(email);
+        if (normalized != null) {
+            invalidations.incrementAndGet();
+            cache.invalidate(normalized);
+        }
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public CacheStatistics statistics() {
+        cache.cleanUp();
+        return CacheStatistics.from(cache.stats(), cache.estimatedSize());
+    }
+}
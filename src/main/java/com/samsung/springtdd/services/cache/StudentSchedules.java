@@ -0,0 +1,226 @@
+package com.samsung.springtdd.services.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.samsung.springtdd.config.ReadWriteRoutingDataSource;
+import com.samsung.springtdd.models.DTO.CacheStatistics;
+import com.samsung.springtdd.models.DTO.ScheduledCourse;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.services.CourseChangedEvent;
+import com.samsung.springtdd.services.RegistrationChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-student interval index over the courses they hold that have not ended, keyed by normalized
+ * email. Only those courses are loaded, so the cost does not grow with a student's history, and an
+ * overlap check is a binary search. A student's index is dropped when a
+ * {@link RegistrationChangedEvent} for them commits; all are dropped when a course changes, since its
+ * times may have moved. Entries also expire, which bounds how long a change committed on another
+ * instance goes unseen here.
+ * <p>
+ * Registration writes hold the student's row lock and read through {@link #getCurrent}, so the overlap
+ * rule is checked against every committed registration, including those whose commit event has not
+ * reached this cache yet.
+ */
+@Component
+public class StudentSchedules {
+    private final RegistrationRepository registrationRepository;
+    private final Cache<String, Schedule> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public StudentSchedules(RegistrationRepository registrationRepository,
+                            @Value("${student-schedules.maximum-size:100000}") long maximumSize,
+                            @Value("${student-schedules.expire-after-write:1m}") Duration expireAfterWrite) {
+        this(registrationRepository, maximumSize, expireAfterWrite, Ticker.systemTicker());
+    }
+
+    StudentSchedules(RegistrationRepository registrationRepository, long maximumSize, Duration expireAfterWrite,
+                     Ticker ticker) {
+        this.registrationRepository = registrationRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    public Schedule get(String email, Long studentId) {
+        String key = StudentCache.normalizeEmail(email);
+        return getAll(Map.of(key, studentId)).get(key);
+    }
+
+    /**
+     * Schedules for several students, given as normalized email to student id; all misses are loaded
+     * with one query. The result is keyed by normalized email.
+     */
+    public Map<String, Schedule> getAll(Map<String, Long> studentIdsByEmail) {
+        Map<String, Schedule> schedules = new HashMap<>(cache.getAllPresent(studentIdsByEmail.keySet()));
+        Map<Long, String> missing = new HashMap<>();
+        studentIdsByEmail.forEach((email, studentId) -> {
+            if (!schedules.containsKey(email)) {
+                missing.put(studentId, email);
+            }
+        });
+        if (!missing.isEmpty()) {
+            schedules.putAll(load(missing));
+        }
+        return schedules;
+    }
+
+    public Schedule getCurrent(String email, Long studentId) {
+        String key = StudentCache.normalizeEmail(email);
+        return getAllCurrent(Map.of(key, studentId)).get(key);
+    }
+
+    /**
+     * Like {@link #getAll}, but always read from the primary, and the result replaces what is cached.
+     * For callers holding the students' row locks.
+     */
+    public Map<String, Schedule> getAllCurrent(Map<String, Long> studentIdsByEmail) {
+        Map<Long, String> emailsByStudentId = new HashMap<>();
+        studentIdsByEmail.forEach((email, studentId) -> emailsByStudentId.put(studentId, email));
+        return load(emailsByStudentId);
+    }
+
+    private Map<String, Schedule> load(Map<Long, String> missing) {
+        long invalidationsBefore = invalidations.get();
+        Map<Long, List<ScheduledCourse>> courses = new HashMap<>();
+        for (ScheduledCourse course : ReadWriteRoutingDataSource.onPrimary(
+                () -> registrationRepository.findSchedules(missing.keySet(), LocalDateTime.now()))) {
+            courses.computeIfAbsent(course.getStudentId(), id -> new ArrayList<>()).add(course);
+        }
+        Map<String, Schedule> loaded = new HashMap<>();
+        missing.forEach((studentId, email) -> loaded.put(email, Schedule.of(courses.getOrDefault(studentId, List.of()))));
+        cache.putAll(loaded);
+        if (invalidations.get() != invalidationsBefore) {
+            // Same race as in WaitlistQueues: what was just cached may predate a committed change.
+            cache.invalidateAll(loaded.keySet());
+        }
+        return loaded;
+    }
+
+    public void invalidate(String email) {
+        invalidations.incrementAndGet();
+        cache.invalidate(StudentCache.normalizeEmail(email));
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrationChanged(RegistrationChangedEvent event) {
+        if (event.getEmail() == null) {
+            invalidateAll();
+        } else {
+            invalidate(event.getEmail());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        invalidateAll();
+    }
+
+    public CacheStatistics statistics() {
+        cache.cleanUp();
+        return CacheStatistics.from(cache.stats(), cache.estimatedSize());
+    }
+
+    /**
+     * Immutable interval index. Courses are sorted by start time, and for every prefix the course
+     * that ends last is kept, so "does anything starting before {@code end} finish after
+     * {@code start}?" is one binary search. Existing courses may overlap each other.
+     */
+    public static final class Schedule {
+        public static final Schedule EMPTY = of(List.of());
+
+        private final Set<Long> courseIds = new HashSet<>();
+        private final LocalDateTime[] starts;
+        private final LocalDateTime[] latestEnds;
+        private final Long[] latestEndingCourseIds;
+
+        private Schedule(List<ScheduledCourse> courses) {
+            List<ScheduledCourse> sorted = new ArrayList<>();
+            for (ScheduledCourse course : courses) {
+                courseIds.add(course.getCourseId());
+                if (course.getStartTime() != null && course.getEndTime() != null) {
+                    sorted.add(course);
+                }
+            }
+            sorted.sort(Comparator.comparing(ScheduledCourse::getStartTime));
+            starts = new LocalDateTime[sorted.size()];
+            latestEnds = new LocalDateTime[sorted.size()];
+            latestEndingCourseIds = new Long[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                ScheduledCourse course = sorted.get(i);
+                starts[i] = course.getStartTime();
+                if (i > 0 && !course.getEndTime().isAfter(latestEnds[i - 1])) {
+                    latestEnds[i] = latestEnds[i - 1];
+                    latestEndingCourseIds[i] = latestEndingCourseIds[i - 1];
+                } else {
+                    latestEnds[i] = course.getEndTime();
+                    latestEndingCourseIds[i] = course.getCourseId();
+                }
+            }
+        }
+
+        public static Schedule of(Collection<? extends ScheduledCourse> courses) {
+            return new Schedule(List.copyOf(courses));
+        }
+
+        public boolean contains(Long courseId) {
+            return courseIds.contains(courseId);
+        }
+
+        public int size() {
+            return courseIds.size();
+        }
+
+        /**
+         * A course overlapping {@code [start, end)}, or null when there is none. Courses that only touch
+         * (one ends when the other starts) do not overlap.
+         */
+        public Long findConflict(LocalDateTime start, LocalDateTime end) {
+            if (start == null || end == null) {
+                return null;
+            }
+            int low = 0;
+            int high = starts.length - 1;
+            int lastStartingBefore = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid].isBefore(end)) {
+                    lastStartingBefore = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            if (lastStartingBefore >= 0 && latestEnds[lastStartingBefore].isAfter(start)) {
+                return latestEndingCourseIds[lastStartingBefore];
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.samsung.springtdd.services.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.samsung.springtdd.config.ReadWriteRoutingDataSource;
+import com.samsung.springtdd.models.DTO.CacheStatistics;
+import com.samsung.springtdd.models.DTO.WaitlistSlot;
+import com.samsung.springtdd.models.repository.WaitlistRepository;
+import com.samsung.springtdd.services.CourseChangedEvent;
+import com.samsung.springtdd.services.WaitlistChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Each course's waitlist held in promotion order, so position checks and the "is anyone waiting?"
+ * test on every unregister are answered from memory. A course's queue is dropped when a
+ * {@link WaitlistChangedEvent} or {@link CourseChangedEvent} for it commits, and reloaded on next use.
+ * Courses with nobody waiting are cached as empty queues.
+ */
+@Component
+public class WaitlistQueues {
+    private final WaitlistRepository waitlistRepository;
+    private final Cache<Long, Queue> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public WaitlistQueues(WaitlistRepository waitlistRepository,
+                          @Value("${waitlist-queues.maximum-size:10000}") long maximumSize) {
+        this.waitlistRepository = waitlistRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    public Queue get(Long courseId) {
+        return getAll(List.of(courseId)).get(courseId);
+    }
+
+    /**
+     * Queues for several courses; all misses are loaded with one query.
+     */
+    public Map<Long, Queue> getAll(Collection<Long> courseIds) {
+        Map<Long, Queue> queues = new HashMap<>(cache.getAllPresent(courseIds));
+        Set<Long> missing = new LinkedHashSet<>(courseIds);
+        missing.removeAll(queues.keySet());
+        if (missing.isEmpty()) {
+            return queues;
+        }
+
+        long invalidationsBefore = invalidations.get();
+        Map<Long, List<WaitlistSlot>> slots = new HashMap<>();
+        for (WaitlistSlot slot : ReadWriteRoutingDataSource.onPrimary(() -> waitlistRepository.findQueues(missing))) {
+            slots.computeIfAbsent(slot.getCourseId(), id -> new ArrayList<>()).add(slot);
+        }
+        Map<Long, Queue> loaded = new HashMap<>();
+        for (Long courseId : missing) {
+            loaded.put(courseId, new Queue(slots.getOrDefault(courseId, List.of())));
+        }
+        cache.putAll(loaded);
+        if (invalidations.get() != invalidationsBefore) {
+            // A change committed while the query ran and may be missing from what was just cached.
+            cache.invalidateAll(missing);
+        }
+        queues.putAll(loaded);
+        return queues;
+    }
+
+    /**
+     * The given courses whose queue is already cached as empty. Such a queue misses entries added on
+     * another instance, whose events never reach this one. Does not count towards the statistics.
+     */
+    public Set<Long> cachedEmpty(Collection<Long> courseIds) {
+        Set<Long> empty = new HashSet<>();
+        for (Long courseId : courseIds) {
+            Queue queue = cache.asMap().get(courseId);
+            if (queue != null && queue.isEmpty()) {
+                empty.add(courseId);
+            }
+        }
+        return empty;
+    }
+
+    public void invalidate(Long courseId) {
+        invalidations.incrementAndGet();
+        cache.invalidate(courseId);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaitlistChanged(WaitlistChangedEvent event) {
+        invalidate(event.getCourseId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.getCourseId() == null) {
+            invalidateAll();
+        } else {
+            invalidate(event.getCourseId());
+        }
+    }
+
+    public CacheStatistics statistics() {
+        cache.cleanUp();
+        return CacheStatistics.from(cache.stats(), cache.estimatedSize());
+    }
+
+    /**
+     * Immutable snapshot of one course's waitlist.
+     */
+    public static final class Queue {
+        private final List<WaitlistSlot> slots;
+        private final Map<String, Integer> positions = new HashMap<>();
+
+        Queue(List<WaitlistSlot> slots) {
+            this.slots = List.copyOf(slots);
+            for (int i = 0; i < slots.size(); i++) {
+                positions.put(StudentCache.normalizeEmail(slots.get(i).getEmail()), i + 1);
+            }
+        }
+
+        public List<WaitlistSlot> slots() {
+            return slots;
+        }
+
+        public int size() {
+            return slots.size();
+        }
+
+        public boolean isEmpty() {
+            return slots.isEmpty();
+        }
+
+        /**
+         * 1-based position of the student, or 0 when they are not waiting.
+         */
+        public int positionOf(String email) {
+            return positions.getOrDefault(StudentCache.normalizeEmail(email), 0);
+        }
+    }
+}
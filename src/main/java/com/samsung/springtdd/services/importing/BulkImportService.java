@@ -0,0 +1,477 @@
+package com.samsung.springtdd.services.importing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.samsung.springtdd.models.DTO.ImportError;
+import com.samsung.springtdd.models.DTO.ImportReport;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import com.samsung.springtdd.services.CourseChangedEvent;
+import com.samsung.springtdd.services.cache.StudentCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Loads students and courses from CSV. The input is read one record at a time and written in chunks
+ * of {@code bulk-import.batch-size} rows, each chunk in its own transaction with JDBC batch statements
+ * (both tables use identity keys, which keep Hibernate from batching inserts). Memory use is bounded
+ * by one chunk plus the error list, which keeps the first {@code bulk-import.max-errors} entries.
+ * <p>
+ * A row that fails validation is reported with its line number and skipped; the rest of the file is
+ * still imported. A problem with the header fails the whole import before anything is written.
+ * Progress of a running import can be polled by its id until {@code bulk-import.report-ttl} after it
+ * last changed.
+ */
+@Service
+public class BulkImportService {
+    public static final String STUDENTS = "students";
+    public static final String COURSES = "courses";
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final StudentRepository studentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StudentCache studentCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxErrors;
+    private final Cache<String, Progress> imports;
+
+    public BulkImportService(StudentRepository studentRepository,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             StudentCache studentCache,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${bulk-import.batch-size:1000}") int batchSize,
+                             @Value("${bulk-import.max-errors:1000}") int maxErrors,
+                             @Value("${bulk-import.report-ttl:1h}") Duration reportTtl) {
+        this.studentRepository = studentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.studentCache = studentCache;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        this.imports = Caffeine.newBuilder()
+                .expireAfterWrite(reportTtl)
+                .maximumSize(1000)
+                .build();
+    }
+
+    /**
+     * Upserts students by email. Columns: {@code email} (required), {@code first_name}, {@code last_name}.
+     * Emails are stored trimmed and lower-cased and matched case-insensitively; an existing student gets
+     * the names from the file and keeps the email as it was stored.
+     */
+    public ImportReport importStudents(String importId, InputStream csv) {
+        return run(importId, STUDENTS, csv, List.of("email"), List.of("first_name", "last_name"), this::importStudents);
+    }
+
+    /**
+     * Inserts courses. Columns: {@code name}, {@code start_time}, {@code end_time} (ISO date-times) and
+     * {@code price} (required), {@code capacity} (empty for unlimited).
+     */
+    public ImportReport importCourses(String importId, InputStream csv) {
+        return run(importId, COURSES, csv, List.of("name", "start_time", "end_time", "price"), List.of("capacity"),
+                this::importCourses);
+    }
+
+    public ImportReport getReport(String importId) {
+        Progress progress = imports.getIfPresent(importId);
+        if (progress == null) {
+            throw new IllegalArgumentException("Import " + importId + " not found");
+        }
+        return progress.snapshot();
+    }
+
+    private ImportReport run(String importId, String type, InputStream csv, List<String> required,
+                             List<String> optional, RowImporter importer) {
+        String id = importId == null || importId.isBlank() ? UUID.randomUUID().toString() : importId;
+        Progress progress = new Progress(id, type, maxErrors);
+        imports.asMap().compute(id, (key, existing) -> {
+            if (existing != null && existing.isRunning()) {
+                throw new IllegalStateException("Import " + id + " is already running");
+            }
+            return progress;
+        });
+
+        try (Reader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            CsvReader records = new CsvReader(reader);
+            Columns columns;
+            try {
+                columns = Columns.of(records.next(), required, optional);
+            } catch (IllegalArgumentException e) {
+                progress.fail(e.getMessage());
+                throw e;
+            }
+            importer.importRows(records, columns, progress);
+            progress.complete();
+        } catch (IOException | RuntimeException e) {
+            if (progress.isRunning()) {
+                // Chunks written so far stay committed; the report says where the import stopped.
+                log.warn("Import {} of {} stopped after {} rows", id, type, progress.snapshot().getRowsRead(), e);
+                progress.fail(e.getMessage());
+            } else if (e instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+        } finally {
+            // Re-insert so the report expires report-ttl after the import finished, not after it started.
+            imports.put(id, progress);
+        }
+        ImportReport report = progress.snapshot();
+        log.info("Import {} of {} {}: {} rows read, {} inserted, {} updated, {} failed", id, type,
+                report.getStatus(), report.getRowsRead(), report.getInserted(), report.getUpdated(), report.getFailed());
+        return report;
+    }
+
+    private void importStudents(CsvReader records, Columns columns, Progress progress) throws IOException {
+        Map<String, StudentRow> chunk = new LinkedHashMap<>();
+        List<String> fields;
+        while ((fields = records.next()) != null) {
+            if (isBlank(fields)) {
+                continue;
+            }
+            long line = records.recordLine();
+            progress.rowRead();
+            StudentRow row;
+            try {
+                columns.checkWidth(fields);
+                row = new StudentRow(line, email(columns.get(fields, "email")),
+                        text(columns.get(fields, "first_name"), "first_name", false),
+                        text(columns.get(fields, "last_name"), "last_name", false));
+            } catch (IllegalArgumentException e) {
+                progress.rejected(line, e.getMessage());
+                continue;
+            }
+            if (chunk.containsKey(row.email())) {
+                // A repeated email becomes an update of the row written by the earlier chunk.
+                writeStudents(chunk.values(), progress);
+                chunk.clear();
+            }
+            chunk.put(row.email(), row);
+            if (chunk.size() >= batchSize) {
+                writeStudents(chunk.values(), progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeStudents(chunk.values(), progress);
+        }
+    }
+
+    private void writeStudents(Collection<StudentRow> rows, Progress progress) {
+        List<String> emails = rows.stream().map(StudentRow::email).toList();
+        try {
+            int[] written = transactionTemplate.execute(status -> {
+                Set<String> existing = new HashSet<>(studentRepository.findExistingEmails(emails));
+                List<StudentRow> inserts = new ArrayList<>();
+                List<StudentRow> updates = new ArrayList<>();
+                for (StudentRow row : rows) {
+                    (existing.contains(row.email()) ? updates : inserts).add(row);
+                }
+                jdbcTemplate.batchUpdate("insert into students (email, first_name, last_name) values (?, ?, ?)",
+                        inserts, batchSize, (statement, row) -> {
+                            statement.setString(1, row.email());
+                            statement.setString(2, row.firstName());
+                            statement.setString(3, row.lastName());
+                        });
+                jdbcTemplate.batchUpdate("update students set first_name = ?, last_name = ? where lower(email) = ?",
+                        updates, batchSize, (statement, row) -> {
+                            statement.setString(1, row.firstName());
+                            statement.setString(2, row.lastName());
+                            statement.setString(3, row.email());
+                        });
+                return new int[]{inserts.size(), updates.size()};
+            });
+            progress.written(written[0], written[1]);
+        } catch (DataAccessException e) {
+            // The chunk rolled back as a whole, e.g. another writer inserted one of the emails meanwhile.
+            rejectAll(rows.stream().map(StudentRow::line).toList(), e, progress);
+        } finally {
+            // Also drops cached misses for the emails that now exist.
+            emails.forEach(studentCache::invalidate);
+        }
+    }
+
+    private void importCourses(CsvReader records, Columns columns, Progress progress) throws IOException {
+        List<CourseRow> chunk = new ArrayList<>();
+        try {
+            List<String> fields;
+            while ((fields = records.next()) != null) {
+                if (isBlank(fields)) {
+                    continue;
+                }
+                long line = records.recordLine();
+                progress.rowRead();
+                try {
+                    columns.checkWidth(fields);
+                    chunk.add(course(line, columns, fields));
+                } catch (IllegalArgumentException e) {
+                    progress.rejected(line, e.getMessage());
+                    continue;
+                }
+                if (chunk.size() >= batchSize) {
+                    writeCourses(chunk, progress);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeCourses(chunk, progress);
+            }
+        } finally {
+            if (progress.inserted() > 0) {
+                // The new ids are not known without reading them back; catalog views refresh as a whole.
+                eventPublisher.publishEvent(new CourseChangedEvent(null));
+            }
+        }
+    }
+
+    private void writeCourses(List<CourseRow> rows, Progress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "insert into courses (name, start_time, end_time, price, capacity, seats_taken) " +
+                            "values (?, ?, ?, ?, ?, 0)",
+                    rows, batchSize, (statement, row) -> {
+                        statement.setString(1, row.name());
+                        statement.setObject(2, row.startTime());
+                        statement.setObject(3, row.endTime());
+                        statement.setLong(4, row.price());
+                        statement.setObject(5, row.capacity());
+                    }));
+            progress.written(rows.size(), 0);
+        } catch (DataAccessException e) {
+            rejectAll(rows.stream().map(CourseRow::line).toList(), e, progress);
+        }
+    }
+
+    private void rejectAll(List<Long> lines, DataAccessException e, Progress progress) {
+        String message = "Batch rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        log.warn("Import {}: {} rows rolled back", progress.importId, lines.size(), e);
+        lines.forEach(line -> progress.rejected(line, message));
+    }
+
+    private static CourseRow course(long line, Columns columns, List<String> fields) {
+        String name = text(columns.get(fields, "name"), "name", true);
+        LocalDateTime startTime = dateTime(columns.get(fields, "start_time"), "start_time");
+        LocalDateTime endTime = dateTime(columns.get(fields, "end_time"), "end_time");
+        if (!endTime.isAfter(startTime)) {
+            throw new IllegalArgumentException("end_time must be after start_time");
+        }
+        long price = number(columns.get(fields, "price"), "price");
+        if (price < 0) {
+            throw new IllegalArgumentException("price must not be negative");
+        }
+        String capacityValue = columns.get(fields, "capacity");
+        Integer capacity = null;
+        if (capacityValue != null) {
+            long parsed = number(capacityValue, "capacity");
+            if (parsed < 1 || parsed > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("capacity must be a positive integer");
+            }
+            capacity = (int) parsed;
+        }
+        return new CourseRow(line, name, startTime, endTime, price, capacity);
+    }
+
+    private static String email(String value) {
+        String email = StudentCache.normalizeEmail(value);
+        if (email == null || email.isEmpty()) {
+            throw new IllegalArgumentException("email is required");
+        }
+        int at = email.indexOf('@');
+        if (at < 1 || at != email.lastIndexOf('@') || at == email.length() - 1 || email.chars().anyMatch(Character::isWhitespace)) {
+            throw new IllegalArgumentException("Invalid email: " + value);
+        }
+        return text(email, "email", true);
+    }
+
+    private static String text(String value, String column, boolean required) {
+        if (value == null) {
+            if (required) {
+                throw new IllegalArgumentException(column + " is required");
+            }
+            return null;
+        }
+        if (value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(column + " is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+        return value;
+    }
+
+    private static LocalDateTime dateTime(String value, String column) {
+        if (value == null) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static long number(String value, String column) {
+        if (value == null) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static boolean isBlank(List<String> fields) {
+        return fields.size() == 1 && fields.get(0).isBlank();
+    }
+
+    @FunctionalInterface
+    private interface RowImporter {
+        void importRows(CsvReader records, Columns columns, Progress progress) throws IOException;
+    }
+
+    private record StudentRow(long line, String email, String firstName, String lastName) {
+    }
+
+    private record CourseRow(long line, String name, LocalDateTime startTime, LocalDateTime endTime, long price,
+                             Integer capacity) {
+    }
+
+    /**
+     * Header names mapped to field positions. Values are trimmed; empty values read as null.
+     */
+    private static final class Columns {
+        private final Map<String, Integer> positions;
+        private final int width;
+
+        private Columns(Map<String, Integer> positions, int width) {
+            this.positions = positions;
+            this.width = width;
+        }
+
+        static Columns of(List<String> header, List<String> required, List<String> optional) {
+            if (header == null) {
+                throw new IllegalArgumentException("CSV input is empty");
+            }
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                if (!required.contains(name) && !optional.contains(name)) {
+                    throw new IllegalArgumentException("Unknown column: " + header.get(i));
+                }
+                if (positions.put(name, i) != null) {
+                    throw new IllegalArgumentException("Duplicate column: " + name);
+                }
+            }
+            for (String name : required) {
+                if (!positions.containsKey(name)) {
+                    throw new IllegalArgumentException("Missing column: " + name);
+                }
+            }
+            return new Columns(positions, header.size());
+        }
+
+        void checkWidth(List<String> fields) {
+            if (fields.size() != width) {
+                throw new IllegalArgumentException("Expected " + width + " fields but found " + fields.size());
+            }
+        }
+
+        String get(List<String> fields, String name) {
+            Integer position = positions.get(name);
+            if (position == null) {
+                return null;
+            }
+            String value = fields.get(position).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    /**
+     * Counters of one import, written by the importing thread and read by status requests.
+     */
+    private static final class Progress {
+        private final String importId;
+        private final String type;
+        private final int maxErrors;
+        private final List<ImportError> errors = new ArrayList<>();
+        private ImportReport.Status status = ImportReport.Status.RUNNING;
+        private String message;
+        private long rowsRead;
+        private long inserted;
+        private long updated;
+        private long failed;
+
+        Progress(String importId, String type, int maxErrors) {
+            this.importId = importId;
+            this.type = type;
+            this.maxErrors = maxErrors;
+        }
+
+        synchronized boolean isRunning() {
+            return status == ImportReport.Status.RUNNING;
+        }
+
+        synchronized long inserted() {
+            return inserted;
+        }
+
+        synchronized void rowRead() {
+            rowsRead++;
+        }
+
+        synchronized void written(long inserted, long updated) {
+            this.inserted += inserted;
+            this.updated += updated;
+        }
+
+        synchronized void rejected(long line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportError(line, message));
+            }
+        }
+
+        synchronized void complete() {
+            status = ImportReport.Status.COMPLETED;
+        }
+
+        synchronized void fail(String message) {
+            status = ImportReport.Status.FAILED;
+            this.message = message;
+        }
+
+        synchronized ImportReport snapshot() {
+            return new ImportReport(importId, type, status, rowsRead, inserted, updated, failed,
+                    List.copyOf(errors), failed > errors.size(), message);
+        }
+    }
+}
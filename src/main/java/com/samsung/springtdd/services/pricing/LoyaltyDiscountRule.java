@@ -0,0 +1,21 @@
+package com.samsung.springtdd.services.pricing;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 25% off once the student already holds two or more registrations.
+ */
+@Component
+@Order(100)
+public class LoyaltyDiscountRule implements PricingRule {
+    static final long MIN_REGISTRATIONS = 2;
+
+    @Override
+    public long apply(long price, PricingContext context) {
+        if (context.getRegistrationCount() >= MIN_REGISTRATIONS) {
+            return price * 75 / 100;
+        }
+        return price;
+    }
+}
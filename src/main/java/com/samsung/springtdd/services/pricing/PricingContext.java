@@ -0,0 +1,22 @@
+package com.samsung.springtdd.services.pricing;
+
+/**
+ * Precomputed aggregates a {@link PricingRule} may look at. Built from COUNT queries or maintained
+ * counters, never from loaded entity lists.
+ */
+public final class PricingContext {
+    private final long registrationCount;
+
+    private PricingContext(long registrationCount) {
+        this.registrationCount = registrationCount;
+    }
+
+    public static PricingContext ofRegistrationCount(long registrationCount) {
+        return new PricingContext(registrationCount);
+    }
+
+    /** Number of registrations the student already holds, not counting the one being priced. */
+    public long getRegistrationCount() {
+        return registrationCount;
+    }
+}
@@ -0,0 +1,22 @@
+package com.samsung.springtdd.services.pricing;
+
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class PricingEngine {
+    private final PricingRule[] rules;
+
+    public PricingEngine(List<PricingRule> rules) {
+        this.rules = rules.toArray(new PricingRule[0]);
+    }
+
+    public long price(long basePrice, PricingContext context) {
+        long price = basePrice;
+        for (PricingRule rule : rules) {
+            price = rule.apply(price, context);
+        }
+        return price;
+    }
+}
@@ -0,0 +1,9 @@
+package com.samsung.springtdd.services.pricing;
+
+public interface PricingRule {
+    /**
+     * Applies this rule to a price in minor currency units and returns the new price.
+     * Rules are chained in {@link org.springframework.core.annotation.Order} order.
+     */
+    long apply(long price, PricingContext context);
+}
@@ -0,0 +1,136 @@
+package com.samsung.springtdd.services.reporting;
+
+import com.samsung.springtdd.models.CourseDailyStats;
+import com.samsung.springtdd.models.DTO.CourseDailyReport;
+import com.samsung.springtdd.models.DTO.CourseReport;
+import com.samsung.springtdd.models.repository.ArchivedRegistrationRepository;
+import com.samsung.springtdd.models.repository.CourseDailyStatsRepository;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Revenue and enrolment figures read from the precomputed {@link CourseDailyStats} rows that
+ * {@link CourseStatsRecorder} maintains; the registrations table is never scanned to answer them.
+ */
+@Service
+public class CourseReportService {
+    private static final Logger log = LoggerFactory.getLogger(CourseReportService.class);
+
+    private final CourseDailyStatsRepository statsRepository;
+    private final RegistrationRepository registrationRepository;
+    private final ArchivedRegistrationRepository archivedRegistrationRepository;
+    private final CourseRepository courseRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public CourseReportService(CourseDailyStatsRepository statsRepository,
+                               RegistrationRepository registrationRepository,
+                               ArchivedRegistrationRepository archivedRegistrationRepository,
+                               CourseRepository courseRepository,
+                               JdbcTemplate jdbcTemplate) {
+        this.statsRepository = statsRepository;
+        this.registrationRepository = registrationRepository;
+        this.archivedRegistrationRepository = archivedRegistrationRepository;
+        this.courseRepository = courseRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Totals per course over the days in [from, to]; either bound may be null for an open range.
+     */
+    @Transactional(readOnly = true)
+    public List<CourseReport> getCourseReports(LocalDate from, LocalDate to) {
+        return statsRepository.sumByCourse(startOf(from), endOf(to, from));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CourseDailyReport> getDailyReport(Long courseId, LocalDate from, LocalDate to) {
+        return statsRepository.findDaily(courseId, startOf(from), endOf(to, from));
+    }
+
+    /**
+     * Seeds the statistics from the registrations and archive tables, with one grouped query each, until
+     * a row older than today exists, i.e. the first time the application starts with reporting.
+     * {@link CourseStatsRecorder} may already have written today's rows by then, so that alone does not
+     * count as seeded. Cancellations from before that point are unknown and count as zero.
+     * <p>
+     * Every instance runs this on startup. On PostgreSQL the instances take turns on an advisory lock,
+     * and the courses seeded for today are locked as registration writes lock them, so the recorder
+     * cannot insert the same row meanwhile. Days that already have a row are skipped, never added to.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        LocalDate today = LocalDate.now();
+        if (statsRepository.existsByDayBefore(today)) {
+            return;
+        }
+        if (isPostgres()) {
+            jdbcTemplate.execute("select pg_advisory_xact_lock(hashtext('course_daily_stats backfill'))");
+        }
+        // A course that was being archived when this runs has days in both tables.
+        Map<DailyKey, CourseDailyStats> byCourseAndDay = new LinkedHashMap<>();
+        for (List<CourseDailyReport> days : List.of(registrationRepository.sumByCourseAndDay(),
+                archivedRegistrationRepository.sumByCourseAndDay())) {
+            for (CourseDailyReport day : days) {
+                CourseDailyStats row = byCourseAndDay.computeIfAbsent(new DailyKey(day.getCourseId(), day.getDay()),
+                        key -> CourseDailyStats.builder().courseId(day.getCourseId()).day(day.getDay()).build());
+                row.setRegistrations(row.getRegistrations() + day.getRegistrations());
+                row.setRevenue(row.getRevenue() + day.getRevenue());
+            }
+        }
+        Set<Long> recordedToday = new HashSet<>();
+        for (DailyKey key : byCourseAndDay.keySet()) {
+            if (!key.day().isBefore(today)) {
+                recordedToday.add(key.courseId());
+            }
+        }
+        if (!recordedToday.isEmpty()) {
+            courseRepository.lockByIdIn(recordedToday);
+        }
+        for (CourseDailyReport existing : statsRepository.findAllDays()) {
+            byCourseAndDay.remove(new DailyKey(existing.getCourseId(), existing.getDay()));
+        }
+        List<CourseDailyStats> rows = new ArrayList<>(byCourseAndDay.values());
+        statsRepository.saveAll(rows);
+        if (!rows.isEmpty()) {
+            log.info("Seeded {} daily course statistics rows from existing registrations", rows.size());
+        }
+    }
+
+    private boolean isPostgres() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(database);
+    }
+
+    private static LocalDate startOf(LocalDate from) {
+        return from != null ? from : LocalDate.EPOCH;
+    }
+
+    private static LocalDate endOf(LocalDate to, LocalDate from) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        if (from != null && from.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        return end;
+    }
+
+    private record DailyKey(Long courseId, LocalDate day) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.samsung.springtdd.services.reporting;
+
+import com.samsung.springtdd.models.CourseDailyStats;
+import com.samsung.springtdd.models.repository.CourseDailyStatsRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Applies registration changes to today's {@link CourseDailyStats} rows inside the caller's
+ * transaction, so the figures commit or roll back together with the registrations. Rows are
+ * incremented with conditional UPDATEs, one per distinct change rather than one per course, so no
+ * increment is lost and a batch over many courses still costs a fixed number of statements.
+ * <p>
+ * The first change of the day for a course updates no row and inserts it instead. Callers hold the
+ * locks of the changed courses' rows, as every registration write does, so no other transaction
+ * inserts the same row meanwhile and writers touching several courses cannot deadlock on the stats.
+ */
+@Component
+public class CourseStatsRecorder {
+    private final CourseDailyStatsRepository statsRepository;
+
+    public CourseStatsRecorder(CourseDailyStatsRepository statsRepository) {
+        this.statsRepository = statsRepository;
+    }
+
+    @Transactional
+    public void record(Changes changes) {
+        if (changes.byCourse.isEmpty()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        Map<Change, List<Long>> courseIdsByChange = new LinkedHashMap<>();
+        changes.byCourse.forEach((courseId, change) ->
+                courseIdsByChange.computeIfAbsent(change, c -> new ArrayList<>()).add(courseId));
+
+        List<Long> notUpdated = new ArrayList<>();
+        courseIdsByChange.forEach((change, courseIds) -> {
+            int updated = statsRepository.addToDay(courseIds, today,
+                    change.registrations(), change.cancellations(), change.revenue());
+            if (updated < courseIds.size()) {
+                notUpdated.addAll(courseIds);
+            }
+        });
+        if (notUpdated.isEmpty()) {
+            return;
+        }
+
+        Set<Long> updated = new HashSet<>(statsRepository.findCourseIdsWithDay(notUpdated, today));
+        List<CourseDailyStats> created = new ArrayList<>();
+        for (Long courseId : notUpdated) {
+            if (!updated.contains(courseId)) {
+                Change change = changes.byCourse.get(courseId);
+                created.add(CourseDailyStats.builder()
+                        .courseId(courseId)
+                        .day(today)
+                        .registrations(change.registrations())
+                        .cancellations(change.cancellations())
+                        .revenue(change.revenue())
+                        .build());
+            }
+        }
+        statsRepository.saveAll(created);
+    }
+
+    /**
+     * Registrations and cancellations collected while a transaction runs, recorded in one go.
+     * Not thread-safe.
+     */
+    public static class Changes {
+        private final Map<Long, Change> byCourse = new TreeMap<>();
+
+        public Changes registered(Long courseId, long price) {
+            byCourse.merge(courseId, new Change(1, 0, price), Change::plus);
+            return this;
+        }
+
+        public Changes cancelled(Long courseId, long registrations, long price) {
+            byCourse.merge(courseId, new Change(0, registrations, -price), Change::plus);
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return byCourse.isEmpty();
+        }
+    }
+
+    private record Change(long registrations, long cancellations, long revenue) {
+        Change plus(Change other) {
+            return new Change(registrations + other.registrations,
+                    cancellations + other.cancellations, revenue + other.revenue);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.samsung.springtdd.services.search;
+
+import com.samsung.springtdd.config.ReadWriteRoutingDataSource;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.services.CourseChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search over the whole course table: a sorted token map over course names for prefix
+ * matching, and a map sorted by start time for range filters. Built from one query on first use,
+ * then kept current one course at a time as {@link CourseChangedEvent}s commit; an event for any
+ * number of courses drops the index, to be rebuilt on next use. A changed course is read without
+ * holding the lock, and a read is only applied if no later change or rebuild read the course since.
+ * <p>
+ * Every word of the query must be a prefix of some word of the name, case-insensitively, so
+ * "jav bas" finds "Java Basics". Results are in (start time, id) order.
+ */
+@Component
+public class CourseSearchIndex {
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<CourseSummary> START_ORDER =
+            Comparator.comparing(CourseSummary::getStartTime).thenComparing(CourseSummary::getId);
+
+    private final CourseRepository courseRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, CourseSummary> courses = new HashMap<>();
+    private final Map<Long, List<String>> tokensByCourse = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> coursesByToken = new TreeMap<>();
+    private final NavigableMap<LocalDateTime, Set<Long>> coursesByStart = new TreeMap<>();
+    // Guarded by the write lock: changes are numbered in arrival order, and each course remembers the
+    // last one applied to it. builtAt is the last change that the current build already includes.
+    private final Map<Long, Long> lastChangeByCourse = new HashMap<>();
+    private long changes;
+    private long builtAt;
+    private volatile boolean built;
+
+    public CourseSearchIndex(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+    }
+
+    /**
+     * @param query words to prefix-match against the name; blank matches every course
+     * @param from  inclusive lower bound on the start time
+     * @param to    exclusive upper bound on the start time, or null for no bound
+     */
+    public List<CourseSummary> search(String query, LocalDateTime from, LocalDateTime to, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        List<String> terms = tokenize(query);
+        ensureBuilt();
+
+        lock.readLock().lock();
+        try {
+            NavigableMap<LocalDateTime, Set<Long>> range = to == null
+                    ? coursesByStart.tailMap(from, true)
+                    : coursesByStart.subMap(from, true, to, false);
+            if (terms.isEmpty()) {
+                return firstInRange(range, limit);
+            }
+            return matchInRange(terms, from, to, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        ensureBuilt();
+        lock.readLock().lock();
+        try {
+            return courses.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        Long courseId = event.getCourseId();
+        long change;
+        lock.writeLock().lock();
+        try {
+            // Tested under the lock: a build in progress holds it, and may have read the table before
+            // this change committed.
+            if (!built) {
+                return;
+            }
+            if (courseId == null) {
+                // Too many changes to apply one by one: start over from the table on next use.
+                courses.clear();
+                tokensByCourse.clear();
+                coursesByToken.clear();
+                coursesByStart.clear();
+                lastChangeByCourse.clear();
+                built = false;
+                return;
+            }
+            change = ++changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Optional<CourseSummary> course = ReadWriteRoutingDataSource.onPrimary(() -> courseRepository.findById(courseId))
+                .map(CourseSummary::from);
+
+        lock.writeLock().lock();
+        try {
+            // A later change of this course, or a rebuild, started reading after this one did.
+            if (!built || change <= builtAt || change < lastChangeByCourse.getOrDefault(courseId, 0L)) {
+                return;
+            }
+            lastChangeByCourse.put(courseId, change);
+            remove(courseId);
+            course.ifPresent(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<CourseSummary> firstInRange(NavigableMap<LocalDateTime, Set<Long>> range, int limit) {
+        List<CourseSummary> found = new ArrayList<>(limit);
+        for (Set<Long> ids : range.values()) {
+            List<Long> sameStart = new ArrayList<>(ids);
+            sameStart.sort(null);
+            for (Long id : sameStart) {
+                found.add(courses.get(id));
+                if (found.size() == limit) {
+                    return found;
+                }
+            }
+        }
+        return found;
+    }
+
+    private List<CourseSummary> matchInRange(List<String> terms, LocalDateTime from, LocalDateTime to, int limit) {
+        // The longest term usually has the fewest matches; it picks the candidates, the others filter them.
+        String driver = terms.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+        Set<Long> seen = new HashSet<>();
+        List<CourseSummary> found = new ArrayList<>();
+        for (Set<Long> ids : coursesByToken.subMap(driver, true, driver + Character.MAX_VALUE, false).values()) {
+            for (Long id : ids) {
+                if (!seen.add(id)) {
+                    continue;
+                }
+                CourseSummary course = courses.get(id);
+                LocalDateTime start = course.getStartTime();
+                if (start == null || start.isBefore(from) || (to != null && !start.isBefore(to))) {
+                    continue;
+                }
+                if (matchesAll(tokensByCourse.get(id), terms)) {
+                    found.add(course);
+                }
+            }
+        }
+        found.sort(START_ORDER);
+        return found.size() > limit ? List.copyOf(found.subList(0, limit)) : found;
+    }
+
+    private static boolean matchesAll(List<String> tokens, List<String> terms) {
+        for (String term : terms) {
+            if (tokens.stream().noneMatch(token -> token.startsWith(term))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!built) {
+                ReadWriteRoutingDataSource.onPrimary(courseRepository::findAllSummaries).forEach(this::add);
+                builtAt = changes;
+                built = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(CourseSummary course) {
+        List<String> tokens = tokenize(course.getName());
+        courses.put(course.getId(), course);
+        tokensByCourse.put(course.getId(), tokens);
+        for (String token : tokens) {
+            coursesByToken.computeIfAbsent(token, t -> new HashSet<>()).add(course.getId());
+        }
+        if (course.getStartTime() != null) {
+            coursesByStart.computeIfAbsent(course.getStartTime(), t -> new HashSet<>()).add(course.getId());
+        }
+    }
+
+    private void remove(Long courseId) {
+        CourseSummary course = courses.remove(courseId);
+        if (course == null) {
+            return;
+        }
+        for (String token : tokensByCourse.remove(courseId)) {
+            removeFrom(coursesByToken, token, courseId);
+        }
+        if (course.getStartTime() != null) {
+            removeFrom(coursesByStart, course.getStartTime(), courseId);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Long>> index, K key, Long courseId) {
+        Set<Long> ids = index.get(key);
+        ids.remove(courseId);
+        if (ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
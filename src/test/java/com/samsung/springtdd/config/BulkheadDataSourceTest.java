@@ -0,0 +1,60 @@
+package com.samsung.springtdd.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkheadDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Test
+    void shouldReleasePermitWhenConnectionClosed() throws Exception {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        BulkheadDataSource bulkhead = new BulkheadDataSource(targetDataSource, 2, Duration.ofMillis(50));
+
+        Connection first = bulkhead.getConnection();
+        assertEquals(1, bulkhead.getAvailablePermits());
+
+        first.close();
+        first.close();
+
+        assertEquals(2, bulkhead.getAvailablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void shouldFailFastWhenAllPermitsAreTaken() throws Exception {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        BulkheadDataSource bulkhead = new BulkheadDataSource(targetDataSource, 1, Duration.ofMillis(50));
+
+        bulkhead.getConnection();
+
+        assertThrows(DatabaseBusyException.class, bulkhead::getConnection);
+        verify(targetDataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void shouldReturnPermitWhenPoolFails() throws Exception {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        BulkheadDataSource bulkhead = new BulkheadDataSource(targetDataSource, 1, Duration.ofMillis(50));
+
+        assertThrows(SQLException.class, bulkhead::getConnection);
+
+        assertEquals(1, bulkhead.getAvailablePermits());
+    }
+}
@@ -0,0 +1,167 @@
+package com.samsung.springtdd.config;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseDailyStatsRepository;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs the application on two embedded databases. The replica starts as a copy of the primary and is
+ * then never updated, like a replica that lags forever, so which database answered a read shows in
+ * the response.
+ */
+@SpringBootTest(properties = {
+        "datasource-routing.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.read.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop"})
+@AutoConfigureMockMvc
+public class ReadWriteRoutingDataSourceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReadWriteRoutingDataSource dataSource;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private CourseDailyStatsRepository courseDailyStatsRepository;
+
+    private String alice;
+    private String bob;
+    private Course java;
+    private Course spring;
+    private Course docker;
+
+    @BeforeEach
+    void setup() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        alice = "alice-" + suffix + "@example.com";
+        bob = "bob-" + suffix + "@example.com";
+        java = courseRepository.save(course("Java Basics", 30));
+        spring = courseRepository.save(course("Spring Boot", 60));
+        docker = courseRepository.save(course("Docker", 90));
+        studentRepository.save(Student.builder().email(alice).build());
+        Student bobStudent = studentRepository.save(Student.builder().email(bob).build());
+
+        JdbcTemplate replica = new JdbcTemplate(dataSource.getRead());
+        replica.execute("drop all objects");
+        for (String statement : new JdbcTemplate(dataSource.getPrimary()).queryForList("script", String.class)) {
+            replica.execute(statement);
+        }
+        replica.update("insert into registrations (id, student_id, course_id, price, registered_date) " +
+                "values (?, ?, ?, ?, ?)", 1_000_000L, bobStudent.getId(), java.getId(), java.getPrice(), LocalDateTime.now());
+    }
+
+    @AfterEach
+    void cleanup() {
+        registrationRepository.deleteAll();
+        courseDailyStatsRepository.deleteAll();
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    void shouldServeRegisteredCoursesFromTheReplica() throws Exception {
+        mockMvc.perform(get("/registered-courses/" + bob))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", Matchers.contains("Java Basics")));
+
+        long onPrimary = ReadWriteRoutingDataSource.onPrimary(registrationRepository::count);
+        assertEquals(0, onPrimary, "the replica-only registration must not be on the primary");
+    }
+
+    @Test
+    void shouldReadOwnWritesFromThePrimary() throws Exception {
+        register(java, alice);
+        register(spring, alice);
+
+        mockMvc.perform(get("/registered-courses/" + alice))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", Matchers.contains("Java Basics", "Spring Boot")));
+        // Two registrations on the primary earn the loyalty discount; the replica knows of none.
+        mockMvc.perform(post("/quote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"" + alice + "\", \"courseIds\": [" + docker.getId() + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].price", Matchers.is(750000)));
+        mockMvc.perform(get("/registered-courses/" + bob))
+                .andExpect(jsonPath("$[*].name", Matchers.contains("Java Basics")));
+    }
+
+    private void register(Course course, String email) throws Exception {
+        mockMvc.perform(post("/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\": " + course.getId() + ", \"email\": \"" + email + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldRequireReadUrlWhenEnabled() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+                .withUserConfiguration(ReadWriteRoutingConfig.class)
+                .withPropertyValues("datasource-routing.enabled=true", "spring.datasource.url=jdbc:h2:mem:routing-check")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+    }
+
+    @Test
+    void shouldSizeBulkheadForEachPool() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+                .withUserConfiguration(DatabaseBulkheadConfig.class, ReadWriteRoutingConfig.class)
+                .withPropertyValues("datasource-routing.enabled=true", "db-bulkhead.enabled=true",
+                        "spring.datasource.url=jdbc:h2:mem:bulkhead-primary",
+                        "spring.datasource.hikari.maximum-pool-size=4",
+                        "spring.datasource.read.url=jdbc:h2:mem:bulkhead-replica",
+                        "spring.datasource.read.hikari.maximum-pool-size=12")
+                .run(context -> {
+                    ReadWriteRoutingDataSource routing = context.getBean(ReadWriteRoutingDataSource.class);
+                    assertEquals(4, ((BulkheadDataSource) routing.getPrimary()).getMaxConcurrent());
+                    assertEquals(12, ((BulkheadDataSource) routing.getRead()).getMaxConcurrent());
+                });
+    }
+
+    private static Course course(String name, int startsInDays) {
+        return Course.builder()
+                .name(name)
+                .startTime(LocalDateTime.now().plusDays(startsInDays))
+                .endTime(LocalDateTime.now().plusDays(startsInDays).plusHours(8))
+                .price(1000000L)
+                .build();
+    }
+}
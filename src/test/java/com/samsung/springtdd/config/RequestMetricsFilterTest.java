@@ -0,0 +1,47 @@
+package com.samsung.springtdd.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestMetricsFilterTest {
+    private final RequestQueryCounter counter = new RequestQueryCounter();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestMetricsFilter filter = new RequestMetricsFilter(counter, registry);
+
+    @Test
+    void shouldRecordStatementsAndEntityLoadsPerEndpoint() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/registered-courses/a@example.com");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/registered-courses/{email}");
+            counter.inspect("select 1");
+            counter.inspect("select 2");
+            counter.onLoad(new Object(), (Object) 1L, null, null, null);
+        });
+
+        DistributionSummary statements = registry.get(RequestMetricsFilter.SQL_STATEMENTS)
+                .tag("method", "GET").tag("uri", "/registered-courses/{email}").summary();
+        DistributionSummary loads = registry.get(RequestMetricsFilter.ENTITY_LOADS)
+                .tag("uri", "/registered-courses/{email}").summary();
+        assertEquals(1, statements.count());
+        assertEquals(2.0, statements.totalAmount());
+        assertEquals(1.0, loads.totalAmount());
+    }
+
+    @Test
+    void shouldNotCountOutsideMeasuredRequests() {
+        counter.inspect("select 1");
+
+        counter.begin();
+        RequestQueryCounter.Counts counts = counter.end();
+
+        assertEquals(0, counts.getStatements());
+        assertEquals(0, counts.getEntityLoads());
+    }
+}
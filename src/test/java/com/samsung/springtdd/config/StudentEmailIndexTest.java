@@ -0,0 +1,32 @@
+package com.samsung.springtdd.config;
+
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class StudentEmailIndexTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldCountEmailsSharedByStudentsInDifferentCasing() {
+        StudentEmailIndex index = new StudentEmailIndex(jdbcTemplate);
+        studentRepository.save(Student.builder().email("solo@example.com").build());
+        studentRepository.save(Student.builder().email("Twin@Example.com").build());
+        studentRepository.save(Student.builder().email("twin@example.com").build());
+        studentRepository.save(Student.builder().email("TWIN@EXAMPLE.COM").build());
+        studentRepository.flush();
+
+        assertEquals(1, index.countCaseDuplicates());
+    }
+}
@@ -0,0 +1,123 @@
+package com.samsung.springtdd.controller;
+
+import com.samsung.springtdd.controllers.CourseController;
+import com.samsung.springtdd.models.DTO.CoursePage;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.services.CourseCatalogService;
+import com.samsung.springtdd.services.cache.CourseJsonCache;
+import com.samsung.springtdd.services.search.CourseSearchIndex;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CourseController.class)
+@Import(CourseJsonCache.class)
+public class CourseControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CourseCatalogService courseCatalogService;
+
+    @MockitoBean
+    private CourseSearchIndex courseSearchIndex;
+
+    private final CourseSummary javaBasics = new CourseSummary(1L, "Java Basics",
+            LocalDateTime.of(2030, 4, 1, 9, 0), LocalDateTime.of(2030, 4, 30, 17, 0), 1000000L);
+    private final CourseSummary springBoot = new CourseSummary(2L, "Spring Boot",
+            LocalDateTime.of(2030, 5, 1, 9, 0), LocalDateTime.of(2030, 5, 31, 17, 0), 1500000L);
+
+    @Test
+    public void shouldReturnFirstPageWithCursor() throws Exception {
+        when(courseCatalogService.findUpcoming(null, 2))
+                .thenReturn(new CoursePage(Arrays.asList(javaBasics, springBoot), "next"));
+
+        mockMvc.perform(get("/courses/upcoming").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.items[0].name", Matchers.is("Java Basics")))
+                .andExpect(jsonPath("$.nextCursor", Matchers.is("next")));
+    }
+
+    @Test
+    public void shouldFailOnInvalidCursor() throws Exception {
+        when(courseCatalogService.findUpcoming("bad", 50))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: bad"));
+
+        mockMvc.perform(get("/courses/upcoming").param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", Matchers.is("Invalid cursor: bad")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldStreamUpcomingCoursesAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<CourseSummary> consumer = invocation.getArgument(0);
+            consumer.accept(javaBasics);
+            consumer.accept(springBoot);
+            return null;
+        }).when(courseCatalogService).streamUpcoming(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/courses/upcoming").accept(CourseController.APPLICATION_NDJSON_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CourseController.APPLICATION_NDJSON_VALUE))
+                .andExpect(content().string(Matchers.matchesPattern(
+                        "(?s)\\{\"id\":1,\"name\":\"Java Basics\".*}\n\\{\"id\":2,\"name\":\"Spring Boot\".*}\n")));
+    }
+
+    @Test
+    public void shouldSearchCoursesByNameAndStartRange() throws Exception {
+        when(courseSearchIndex.search("jav", LocalDateTime.of(2030, 1, 1, 0, 0), LocalDateTime.of(2030, 6, 1, 0, 0), 5))
+                .thenReturn(List.of(javaBasics));
+
+        mockMvc.perform(get("/courses/search")
+                        .param("q", "jav")
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-06-01T00:00:00")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$[0].name", Matchers.is("Java Basics")));
+    }
+
+    @Test
+    public void shouldSearchUpcomingCoursesByDefault() throws Exception {
+        when(courseSearchIndex.search(eq("spring"), any(LocalDateTime.class), isNull(), eq(CourseSearchIndex.DEFAULT_LIMIT)))
+                .thenReturn(List.of(springBoot));
+
+        mockMvc.perform(get("/courses/search").param("q", "spring"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", Matchers.is(2)));
+    }
+
+    @Test
+    public void shouldRejectMalformedSearchDate() throws Exception {
+        mockMvc.perform(get("/courses/search").param("from", "tomorrow"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", Matchers.startsWith("Invalid value for parameter from")));
+    }
+}
@@ -0,0 +1,97 @@
+package com.samsung.springtdd.controller;
+
+import com.samsung.springtdd.controllers.CourseController;
+import com.samsung.springtdd.controllers.ExportController;
+import com.samsung.springtdd.services.RegistrationExportService;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExportController.class)
+public class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private RegistrationExportService registrationExportService;
+
+    @Test
+    public void shouldStreamCsvWithDateRange() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("id,student_id\n1,2\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(registrationExportService).writeCsv(eq(LocalDateTime.of(2030, 1, 1, 0, 0)),
+                eq(LocalDateTime.of(2030, 2, 1, 0, 0)), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/export/registrations")
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-02-01T00:00:00")
+                        .accept("text/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", Matchers.containsString("registrations.csv")))
+                .andExpect(content().string("id,student_id\n1,2\n"));
+    }
+
+    @Test
+    public void shouldDefaultToCsv() throws Exception {
+        MvcResult result = mockMvc.perform(get("/export/registrations"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"));
+    }
+
+    @Test
+    public void shouldStreamNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(registrationExportService).writeNdjson(isNull(), isNull(), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/export/registrations").accept(CourseController.APPLICATION_NDJSON_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CourseController.APPLICATION_NDJSON_VALUE))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    public void shouldRejectEmptyRangeBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/export/registrations")
+                        .param("from", "2030-02-01T00:00:00")
+                        .param("to", "2030-01-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", Matchers.is("'from' must be before 'to'")));
+
+        verifyNoInteractions(registrationExportService);
+    }
+}
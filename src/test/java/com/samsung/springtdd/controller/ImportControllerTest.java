@@ -0,0 +1,72 @@
+package com.samsung.springtdd.controller;
+
+import com.samsung.springtdd.controllers.ImportController;
+import com.samsung.springtdd.models.DTO.ImportError;
+import com.samsung.springtdd.models.DTO.ImportReport;
+import com.samsung.springtdd.services.importing.BulkImportService;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ImportController.class)
+public class ImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BulkImportService bulkImportService;
+
+    @Test
+    public void shouldImportStudentsFromCsvBody() throws Exception {
+        when(bulkImportService.importStudents(eq("term-1"), any(InputStream.class)))
+                .thenReturn(new ImportReport("term-1", BulkImportService.STUDENTS, ImportReport.Status.COMPLETED,
+                        3, 2, 0, 1, List.of(new ImportError(3, "Invalid email: x")), false, null));
+
+        mockMvc.perform(post("/import/students")
+                        .header(ImportController.IMPORT_ID, "term-1")
+                        .contentType(ImportController.TEXT_CSV_VALUE)
+                        .content("email\na@example.com\nx\nb@example.com\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", Matchers.is("COMPLETED")))
+                .andExpect(jsonPath("$.inserted", Matchers.is(2)))
+                .andExpect(jsonPath("$.errors[0].line", Matchers.is(3)));
+    }
+
+    @Test
+    public void shouldRejectHeaderProblems() throws Exception {
+        when(bulkImportService.importCourses(any(), any(InputStream.class)))
+                .thenThrow(new IllegalArgumentException("Missing column: price"));
+
+        mockMvc.perform(post("/import/courses")
+                        .contentType(ImportController.TEXT_CSV_VALUE)
+                        .content("name,start_time,end_time\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", Matchers.is("Missing column: price")));
+    }
+
+    @Test
+    public void shouldReturnProgressOfRunningImport() throws Exception {
+        when(bulkImportService.getReport("term-1"))
+                .thenReturn(new ImportReport("term-1", BulkImportService.COURSES, ImportReport.Status.RUNNING,
+                        5000, 4000, 0, 0, List.of(), false, null));
+
+        mockMvc.perform(get("/import/term-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", Matchers.is("RUNNING")))
+                .andExpect(jsonPath("$.rowsRead", Matchers.is(5000)));
+    }
+}
@@ -2,28 +2,43 @@ package com.samsung.springtdd.controller;
 
 import com.samsung.springtdd.controllers.RegistrationController;
 import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.BatchRegistrationResult;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.PriceQuote;
+import com.samsung.springtdd.models.DTO.RegistrationTicket;
 import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.services.IdempotencyStore;
+import com.samsung.springtdd.services.RegistrationChangedEvent;
+import com.samsung.springtdd.services.RegistrationQueueFullException;
 import com.samsung.springtdd.services.RegistrationService;
+import com.samsung.springtdd.services.RegistrationWriteBehindService;
+import com.samsung.springtdd.services.cache.CourseJsonCache;
+import com.samsung.springtdd.services.cache.RegistrationVersions;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.math.BigInteger;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(RegistrationController.class)
+@Import({IdempotencyStore.class, CourseJsonCache.class, RegistrationVersions.class})
 public class RegistrationControllerTest {
 
     @Autowired
@@ -32,8 +47,14 @@ public class RegistrationControllerTest {
     @MockitoBean
     private RegistrationService registrationService;
 
+    @MockitoBean
+    private RegistrationWriteBehindService writeBehindService;
+
+    @Autowired
+    private RegistrationVersions registrationVersions;
+
     private Student student;
-    private List<Course> futureCourses;
+    private List<CourseSummary> futureCourses;
 
     @BeforeEach
     void setup() {
@@ -43,21 +64,21 @@ public class RegistrationControllerTest {
         student.setFirstName("John");
         student.setLastName("Doe");
 
-        futureCourses = Arrays.asList(
+        futureCourses = Arrays.asList(CourseSummary.from(
                 Course.builder()
                         .id(1L)
                         .name("Java Basics")
                         .startTime(LocalDateTime.of(2025, 4, 1, 9, 0))
                         .endTime(LocalDateTime.of(2025, 4, 30, 17, 0))
-                        .price(BigInteger.valueOf(1000000))
-                        .build(),
+                        .price(1000000L)
+                        .build()), CourseSummary.from(
                 Course.builder()
                         .id(2L)
                         .name("Spring Boot")
                         .startTime(LocalDateTime.of(2025, 5, 1, 9, 0))
                         .endTime(LocalDateTime.of(2025, 5, 31, 17, 0))
-                        .price(BigInteger.valueOf(1500000))
-                        .build()
+                        .price(1500000L)
+                        .build())
         );
     }
 
@@ -87,6 +108,30 @@ public class RegistrationControllerTest {
                 .andExpect(jsonPath("$[1].name", Matchers.is("Spring Boot")));
     }
 
+    @Test
+    public void shouldAnswerNotModifiedUntilRegistrationsChange() throws Exception {
+        List<CourseSummary> courses = List.of(new CourseSummary(1L, "Java Basics",
+                LocalDateTime.now().plusDays(30), LocalDateTime.now().plusDays(60), 1000000L));
+        when(registrationService.getRegisteredCourses("student1@example.com")).thenReturn(courses);
+
+        String etag = mockMvc.perform(get("/registered-courses/student1@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/registered-courses/student1@example.com").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+        verify(registrationService, times(1)).getRegisteredCourses("student1@example.com");
+
+        registrationVersions.onRegistrationChanged(new RegistrationChangedEvent("Student1@Example.com"));
+
+        mockMvc.perform(get("/registered-courses/student1@example.com").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", Matchers.not(etag)));
+        verify(registrationService, times(2)).getRegisteredCourses("student1@example.com");
+    }
+
     @Test
     public void shouldUnregisterCourseSuccessfully() throws Exception {
         when(registrationService.unregisterCourse(1L, "student1@example.com")).thenReturn(true);
@@ -96,6 +141,37 @@ public class RegistrationControllerTest {
                 .andExpect(content().string("Unregistered successfully"));
     }
 
+    @Test
+    public void shouldUnregisterBatchForStudent() throws Exception {
+        when(registrationService.unregisterCourses("student1@example.com", List.of(1L, 2L))).thenReturn(2);
+
+        mockMvc.perform(delete("/unregister/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"student1@example.com\", \"courseIds\": [1, 2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedRows", Matchers.is(2)));
+    }
+
+    @Test
+    public void shouldUnregisterBatchForCourseRoster() throws Exception {
+        when(registrationService.unregisterAll(1L)).thenReturn(30);
+
+        mockMvc.perform(delete("/unregister/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\": 1}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedRows", Matchers.is(30)));
+    }
+
+    @Test
+    public void shouldRejectEmptyUnregisterBatch() throws Exception {
+        mockMvc.perform(delete("/unregister/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(registrationService);
+    }
+
     @Test
     public void shouldFailWhenRegisteringPastCourse() throws Exception {
         String requestJson = "{\"courseId\": 3, \"email\": \"student1@example.com\"}";
@@ -149,12 +225,12 @@ public class RegistrationControllerTest {
                 .name("Advanced Java")
                 .startTime(LocalDateTime.of(2025, 6, 1, 9, 0))
                 .endTime(LocalDateTime.of(2025, 6, 30, 17, 0))
-                .price(BigInteger.valueOf(2000000))
+                .price(2000000L)
                 .build();
 
         String requestJson = "{\"courseId\": 3, \"email\": \"student1@example.com\"}";
         when(registrationService.registerCourse(3L, "student1@example.com"))
-                .thenReturn(Collections.singletonList(thirdCourse));
+                .thenReturn(Collections.singletonList(CourseSummary.from(thirdCourse)));
 
         mockMvc.perform(post("/register")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -207,4 +283,122 @@ public class RegistrationControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message", Matchers.is("Student with email unknown@example.com not found")));
     }
+
+    @Test
+    public void shouldRegisterBatchAndReportEachItem() throws Exception {
+        String requestJson = "[{\"courseId\": 1, \"email\": \"student1@example.com\"}," +
+                " {\"courseId\": 999, \"email\": \"student1@example.com\"}]";
+        when(registrationService.registerCourses(anyList())).thenReturn(Arrays.asList(
+                BatchRegistrationResult.registered(1L, "student1@example.com", 1000000L),
+                BatchRegistrationResult.failed(999L, "student1@example.com", "Course with ID 999 not found")));
+
+        mockMvc.perform(post("/register/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$[0].status", Matchers.is("REGISTERED")))
+                .andExpect(jsonPath("$[0].price", Matchers.is(1000000)))
+                .andExpect(jsonPath("$[1].status", Matchers.is("FAILED")))
+                .andExpect(jsonPath("$[1].message", Matchers.is("Course with ID 999 not found")));
+    }
+
+    @Test
+    public void shouldQuoteManyCoursesInOneCall() throws Exception {
+        String requestJson = "{\"email\": \"student1@example.com\", \"courseIds\": [1, 2]}";
+        when(registrationService.quotePrices("student1@example.com", Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(
+                new PriceQuote(1L, 1000000L, 750000L),
+                new PriceQuote(2L, 1500000L, 1125000L)));
+
+        mockMvc.perform(post("/quote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$[0].courseId", Matchers.is(1)))
+                .andExpect(jsonPath("$[0].price", Matchers.is(750000)))
+                .andExpect(jsonPath("$[1].basePrice", Matchers.is(1500000)));
+    }
+
+    @Test
+    public void shouldQueueRegistrationWhenWriteBehindEnabled() throws Exception {
+        String requestJson = "{\"courseId\": 1, \"email\": \"student1@example.com\"}";
+        when(writeBehindService.isEnabled()).thenReturn(true);
+        when(writeBehindService.submit(1L, "student1@example.com"))
+                .thenReturn(RegistrationTicket.pending("ticket-1", 1L, "student1@example.com"));
+
+        mockMvc.perform(post("/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.ticket", Matchers.is("ticket-1")))
+                .andExpect(jsonPath("$.status", Matchers.is("PENDING")));
+        verifyNoInteractions(registrationService);
+    }
+
+    @Test
+    public void shouldRejectWithServiceUnavailableWhenQueueFull() throws Exception {
+        String requestJson = "{\"courseId\": 1, \"email\": \"student1@example.com\"}";
+        when(writeBehindService.isEnabled()).thenReturn(true);
+        when(writeBehindService.submit(1L, "student1@example.com")).thenThrow(new RegistrationQueueFullException());
+
+        mockMvc.perform(post("/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message", Matchers.is("Registration queue is full, try again later")));
+    }
+
+    @Test
+    public void shouldReturnRegistrationStatus() throws Exception {
+        when(writeBehindService.getStatus("ticket-1")).thenReturn(
+                new RegistrationTicket("ticket-1", 1L, "student1@example.com", RegistrationTicket.Status.REGISTERED,
+                        1000000L, null));
+
+        mockMvc.perform(get("/register/status/ticket-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", Matchers.is("REGISTERED")))
+                .andExpect(jsonPath("$.price", Matchers.is(1000000)));
+    }
+
+    @Test
+    public void shouldReplayStoredResponseForRepeatedIdempotencyKey() throws Exception {
+        String requestJson = "{\"courseId\": 1, \"email\": \"student1@example.com\"}";
+        when(registrationService.registerCourse(1L, "student1@example.com")).thenReturn(futureCourses);
+
+        mockMvc.perform(post("/register")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+        mockMvc.perform(post("/register")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$", Matchers.hasSize(2)));
+
+        verify(registrationService, times(1)).registerCourse(1L, "student1@example.com");
+    }
+
+    @Test
+    public void shouldRejectIdempotencyKeyReusedForDifferentRequest() throws Exception {
+        when(registrationService.registerCourse(1L, "student1@example.com")).thenReturn(futureCourses);
+
+        mockMvc.perform(post("/register")
+                        .header("Idempotency-Key", "retry-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\": 1, \"email\": \"student1@example.com\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/register")
+                        .header("Idempotency-Key", "retry-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\": 2, \"email\": \"student1@example.com\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message",
+                        Matchers.is("Idempotency-Key retry-2 was already used for a different request")));
+    }
 }
@@ -0,0 +1,65 @@
+package com.samsung.springtdd.controller;
+
+import com.samsung.springtdd.controllers.ReportController;
+import com.samsung.springtdd.models.DTO.CourseDailyReport;
+import com.samsung.springtdd.models.DTO.CourseReport;
+import com.samsung.springtdd.services.reporting.CourseReportService;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReportController.class)
+public class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CourseReportService courseReportService;
+
+    @Test
+    public void shouldReturnCourseReports() throws Exception {
+        when(courseReportService.getCourseReports(null, null))
+                .thenReturn(List.of(new CourseReport(1L, "Java Basics", 3L, 1L, 1900000L)));
+
+        mockMvc.perform(get("/reports/courses"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].courseId", Matchers.is(1)))
+                .andExpect(jsonPath("$[0].name", Matchers.is("Java Basics")))
+                .andExpect(jsonPath("$[0].enrolments", Matchers.is(2)))
+                .andExpect(jsonPath("$[0].revenue", Matchers.is(1900000)));
+    }
+
+    @Test
+    public void shouldReturnDailyReportForRange() throws Exception {
+        LocalDate day = LocalDate.of(2026, 3, 2);
+        when(courseReportService.getDailyReport(1L, day, day))
+                .thenReturn(List.of(new CourseDailyReport(1L, day, 2, 0, 2000000L)));
+
+        mockMvc.perform(get("/reports/courses/1/daily").param("from", "2026-03-02").param("to", "2026-03-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].day", Matchers.is("2026-03-02")))
+                .andExpect(jsonPath("$[0].registrations", Matchers.is(2)));
+    }
+
+    @Test
+    public void shouldRejectInvertedRange() throws Exception {
+        LocalDate from = LocalDate.of(2026, 3, 2);
+        when(courseReportService.getCourseReports(from, from.minusDays(1)))
+                .thenThrow(new IllegalArgumentException("from must not be after to"));
+
+        mockMvc.perform(get("/reports/courses").param("from", "2026-03-02").param("to", "2026-03-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", Matchers.is("from must not be after to")));
+    }
+}
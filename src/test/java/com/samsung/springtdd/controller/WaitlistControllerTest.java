@@ -0,0 +1,106 @@
+package com.samsung.springtdd.controller;
+
+import com.samsung.springtdd.config.DatabaseBusyException;
+import com.samsung.springtdd.controllers.WaitlistController;
+import com.samsung.springtdd.models.DTO.WaitlistPosition;
+import com.samsung.springtdd.services.WaitlistService;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(WaitlistController.class)
+public class WaitlistControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private WaitlistService waitlistService;
+
+    @Test
+    public void shouldJoinWaitlist() throws Exception {
+        when(waitlistService.join(1L, "student1@example.com"))
+                .thenReturn(new WaitlistPosition(1L, "student1@example.com", 3, 3));
+
+        mockMvc.perform(post("/waitlist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\": 1, \"email\": \"student1@example.com\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courseId", Matchers.is(1)))
+                .andExpect(jsonPath("$.position", Matchers.is(3)))
+                .andExpect(jsonPath("$.waiting", Matchers.is(3)));
+    }
+
+    @Test
+    public void shouldRejectJoiningCourseWithFreeSeats() throws Exception {
+        when(waitlistService.join(1L, "student1@example.com"))
+                .thenThrow(new IllegalStateException("Course with ID 1 has free seats, register instead"));
+
+        mockMvc.perform(post("/waitlist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\": 1, \"email\": \"student1@example.com\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", Matchers.is("Course with ID 1 has free seats, register instead")));
+    }
+
+    @Test
+    public void shouldReturnPosition() throws Exception {
+        when(waitlistService.getPosition(1L, "student1@example.com"))
+                .thenReturn(new WaitlistPosition(1L, "student1@example.com", 2, 5));
+
+        mockMvc.perform(get("/waitlist/1/student1@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email", Matchers.is("student1@example.com")))
+                .andExpect(jsonPath("$.position", Matchers.is(2)))
+                .andExpect(jsonPath("$.waiting", Matchers.is(5)));
+    }
+
+    @Test
+    public void shouldReturnServiceUnavailableWhenReadFindsDatabaseBusy() throws Exception {
+        when(waitlistService.getPosition(1L, "student1@example.com"))
+                .thenThrow(new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection",
+                        new DatabaseBusyException("Database is busy, try again later")));
+
+        mockMvc.perform(get("/waitlist/1/student1@example.com"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message", Matchers.is("Database is busy, try again later")));
+    }
+
+    @Test
+    public void shouldReturnServerErrorForOtherDataAccessFailures() throws Exception {
+        when(waitlistService.getPosition(1L, "student1@example.com"))
+                .thenThrow(new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection"));
+
+        mockMvc.perform(get("/waitlist/1/student1@example.com"))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    public void shouldLeaveWaitlist() throws Exception {
+        mockMvc.perform(delete("/waitlist/1/student1@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Left waitlist successfully"));
+
+        verify(waitlistService).leave(1L, "student1@example.com");
+    }
+
+    @Test
+    public void shouldReturnBadRequestWhenNotOnWaitlist() throws Exception {
+        doThrow(new IllegalArgumentException("Student student1@example.com is not on the waitlist for course with ID 1"))
+                .when(waitlistService).leave(1L, "student1@example.com");
+
+        mockMvc.perform(delete("/waitlist/1/student1@example.com"))
+                .andExpect(status().isBadRequest());
+    }
+}
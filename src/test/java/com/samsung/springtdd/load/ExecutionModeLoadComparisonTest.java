@@ -0,0 +1,147 @@
+package com.samsung.springtdd.load;
+
+import com.samsung.springtdd.SpringtddApplication;
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the application twice against an embedded database, once on platform threads and once on
+ * virtual threads with the database bulkhead, and drives the same GET /registered-courses load at
+ * both. Run with {@code mvn -P load-test test}.
+ */
+@Tag("load")
+public class ExecutionModeLoadComparisonTest {
+    private static final int STUDENTS = 200;
+    private static final int CONCURRENT_CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 25;
+    private static final int TOMCAT_MAX_THREADS = 50;
+
+    @Test
+    void compareThreadingModes() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%-9s %10s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p99 ms", "errors");
+        System.out.println(platform);
+        System.out.println(virtual);
+
+        assertEquals(0, platform.errors);
+        assertEquals(0, virtual.errors);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        // Command-line arguments, so they win over application.properties.
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringtddApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=" + TOMCAT_MAX_THREADS)) {
+            seed(context);
+            WebServer webServer = ((ServletWebServerApplicationContext) context).getWebServer();
+            return drive(virtualThreads ? "virtual" : "platform", webServer.getPort());
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        CourseRepository courseRepository = context.getBean(CourseRepository.class);
+        StudentRepository studentRepository = context.getBean(StudentRepository.class);
+        RegistrationRepository registrationRepository = context.getBean(RegistrationRepository.class);
+
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            courses.add(courseRepository.save(Course.builder()
+                    .name("Course " + i)
+                    .startTime(LocalDateTime.now().plusDays(30 + i))
+                    .endTime(LocalDateTime.now().plusDays(30 + i).plusHours(8))
+                    .price(1000000L)
+                    .build()));
+        }
+        List<Registration> registrations = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = studentRepository.save(Student.builder().email("load" + i + "@example.com").build());
+            for (Course course : courses) {
+                registrations.add(Registration.builder()
+                        .student(student)
+                        .course(course)
+                        .price(course.getPrice())
+                        .registeredDate(LocalDateTime.now())
+                        .build());
+            }
+        }
+        registrationRepository.saveAll(registrations);
+    }
+
+    private Result drive(String mode, int port) throws Exception {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        long[] latencies = new long[CONCURRENT_CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CONCURRENT_CLIENTS; c++) {
+                int clientId = c;
+                futures.add(clients.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        String email = "load" + ((clientId + r) % STUDENTS) + "@example.com";
+                        HttpRequest request = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + "/registered-courses/" + email)).build();
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[next.getAndIncrement()] = System.nanoTime() - sent;
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(mode, latencies.length / (elapsed / 1e9),
+                latencies[latencies.length / 2] / 1e6, latencies[(int) (latencies.length * 0.99)] / 1e6, errors.get());
+    }
+
+    private record Result(String mode, double throughput, double p50Millis, double p99Millis, int errors) {
+        @Override
+        public String toString() {
+            return String.format("%-9s %10.0f %10.2f %10.2f %8d", mode, throughput, p50Millis, p99Millis, errors);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.samsung.springtdd.load;
+
+import com.samsung.springtdd.SpringtddApplication;
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Simulates an enrolment window: boots the application against an embedded H2 database in PostgreSQL
+ * mode, seeds students and courses, then has concurrent clients fire a mix of POST /register,
+ * GET /registered-courses/{email} and DELETE /unregister. Prints throughput, latency percentiles,
+ * business rejections (4xx, e.g. already registered or full) and errors (5xx or transport failures)
+ * per operation, and checks that seat counters still match the registration rows afterwards.
+ * <p>
+ * Run with {@code mvn -P load-test test -Dtest=RegistrationRushLoadTest}. The shape is set with
+ * system properties, e.g. {@code -Drush.students=5000 -Drush.clients=500 -Drush.capacity=300}:
+ * rush.students, rush.courses, rush.seed-registrations, rush.capacity (0 = unlimited),
+ * rush.clients, rush.requests-per-client, rush.register-percent, rush.unregister-percent
+ * (the rest are reads), rush.virtual-threads and rush.max-error-rate.
+ */
+@Tag("load")
+public class RegistrationRushLoadTest {
+    private static final int STUDENTS = Integer.getInteger("rush.students", 2000);
+    private static final int COURSES = Integer.getInteger("rush.courses", 20);
+    private static final int SEED_REGISTRATIONS = Integer.getInteger("rush.seed-registrations", 3);
+    private static final int CAPACITY = Integer.getInteger("rush.capacity", 0);
+    private static final int CLIENTS = Integer.getInteger("rush.clients", 200);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("rush.requests-per-client", 50);
+    private static final int REGISTER_PERCENT = Integer.getInteger("rush.register-percent", 50);
+    private static final int UNREGISTER_PERCENT = Integer.getInteger("rush.unregister-percent", 15);
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("rush.virtual-threads");
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("rush.max-error-rate", "0.01"));
+
+    private enum Operation { REGISTER, GET, UNREGISTER }
+
+    @Test
+    void registrationRush() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringtddApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:rush;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.threads.virtual.enabled=" + VIRTUAL_THREADS)) {
+            List<Long> courseIds = seed(context);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+            Map<Operation, Stats> stats = drive(port, courseIds);
+
+            long total = stats.values().stream().mapToLong(s -> s.count).sum();
+            long errors = stats.values().stream().mapToLong(s -> s.errors.get()).sum();
+            System.out.printf("rush: %d students, %d courses, capacity %s, %d clients, %s threads%n",
+                    STUDENTS, COURSES, CAPACITY > 0 ? CAPACITY : "unlimited", CLIENTS,
+                    VIRTUAL_THREADS ? "virtual" : "platform");
+            System.out.printf("%-10s %8s %9s %9s %9s %9s %9s %7s%n",
+                    "operation", "count", "req/s", "p50 ms", "p95 ms", "p99 ms", "rejected", "errors");
+            stats.forEach((operation, s) -> System.out.println(s.format(operation.name().toLowerCase())));
+            System.out.printf("total: %d requests, error rate %.3f%%%n", total, 100.0 * errors / total);
+
+            assertTrue(errors <= total * MAX_ERROR_RATE, errors + " of " + total + " requests failed");
+            assertSeatCountersConsistent(context, courseIds);
+        }
+    }
+
+    private List<Long> seed(ConfigurableApplicationContext context) {
+        CourseRepository courseRepository = context.getBean(CourseRepository.class);
+        StudentRepository studentRepository = context.getBean(StudentRepository.class);
+        RegistrationRepository registrationRepository = context.getBean(RegistrationRepository.class);
+
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            courses.add(Course.builder()
+                    .name("Course " + i)
+                    .startTime(LocalDateTime.now().plusDays(30 + i))
+                    .endTime(LocalDateTime.now().plusDays(30 + i).plusHours(8))
+                    .price(1000000L)
+                    .capacity(CAPACITY > 0 ? CAPACITY : null)
+                    .build());
+        }
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(Student.builder().email("rush" + i + "@example.com").build());
+        }
+        studentRepository.saveAll(students);
+
+        List<Registration> registrations = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            for (int k = 0; k < Math.min(SEED_REGISTRATIONS, COURSES); k++) {
+                Course course = courses.get((i + k) % COURSES);
+                if (CAPACITY > 0 && course.getSeatsTaken() >= CAPACITY) {
+                    continue;
+                }
+                course.setSeatsTaken(course.getSeatsTaken() + 1);
+                registrations.add(Registration.builder()
+                        .student(students.get(i))
+                        .course(course)
+                        .price(course.getPrice())
+                        .registeredDate(LocalDateTime.now())
+                        .build());
+            }
+        }
+        courseRepository.saveAll(courses);
+        registrationRepository.saveAll(registrations);
+        return courses.stream().map(Course::getId).toList();
+    }
+
+    private Map<Operation, Stats> drive(int port, List<Long> courseIds) throws Exception {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats(CLIENTS * REQUESTS_PER_CLIENT));
+        }
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    // What this client has registered, so its unregisters hit real rows.
+                    List<String[]> registered = new ArrayList<>();
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        int roll = random.nextInt(100);
+                        Operation operation = roll < REGISTER_PERCENT ? Operation.REGISTER
+                                : roll < REGISTER_PERCENT + UNREGISTER_PERCENT && !registered.isEmpty()
+                                ? Operation.UNREGISTER : Operation.GET;
+                        String email = "rush" + random.nextInt(STUDENTS) + "@example.com";
+                        String courseId = String.valueOf(courseIds.get(random.nextInt(courseIds.size())));
+                        HttpRequest request = switch (operation) {
+                            case REGISTER -> HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/register"))
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString(
+                                            "{\"courseId\": " + courseId + ", \"email\": \"" + email + "\"}"))
+                                    .build();
+                            case GET -> HttpRequest.newBuilder(
+                                    URI.create("http://localhost:" + port + "/registered-courses/" + email)).build();
+                            case UNREGISTER -> {
+                                String[] pair = registered.remove(random.nextInt(registered.size()));
+                                yield HttpRequest.newBuilder(URI.create(
+                                        "http://localhost:" + port + "/unregister/" + pair[0] + "/" + pair[1]))
+                                        .DELETE()
+                                        .build();
+                            }
+                        };
+                        int status = stats.get(operation).send(client, request);
+                        if (operation == Operation.REGISTER && status == 200) {
+                            registered.add(new String[]{courseId, email});
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        stats.values().forEach(s -> s.finish(elapsed));
+        return stats;
+    }
+
+    private void assertSeatCountersConsistent(ConfigurableApplicationContext context, List<Long> courseIds) {
+        CourseRepository courseRepository = context.getBean(CourseRepository.class);
+        RegistrationRepository registrationRepository = context.getBean(RegistrationRepository.class);
+        long seats = courseRepository.findAllById(courseIds).stream().mapToLong(Course::getSeatsTaken).sum();
+        assertEquals(registrationRepository.count(), seats, "seats_taken drifted from the registration rows");
+    }
+
+    private static final class Stats {
+        private final long[] latencies;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger rejected = new AtomicInteger();
+        private final AtomicInteger errors = new AtomicInteger();
+        private int count;
+        private double throughput;
+
+        Stats(int maxRequests) {
+            latencies = new long[maxRequests];
+        }
+
+        int send(HttpClient client, HttpRequest request) {
+            long sent = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (Exception e) {
+                status = -1;
+            }
+            latencies[next.getAndIncrement()] = System.nanoTime() - sent;
+            if (status >= 400 && status < 500) {
+                rejected.incrementAndGet();
+            } else if (status != 200) {
+                errors.incrementAndGet();
+            }
+            return status;
+        }
+
+        void finish(long elapsedNanos) {
+            count = next.get();
+            Arrays.sort(latencies, 0, count);
+            throughput = count / (elapsedNanos / 1e9);
+        }
+
+        String format(String name) {
+            return String.format("%-10s %8d %9.0f %9.2f %9.2f %9.2f %9d %7d", name, count, throughput,
+                    percentile(0.50), percentile(0.95), percentile(0.99), rejected.get(), errors.get());
+        }
+
+        private double percentile(double p) {
+            return count == 0 ? 0 : latencies[Math.min(count - 1, (int) (count * p))] / 1e6;
+        }
+    }
+}
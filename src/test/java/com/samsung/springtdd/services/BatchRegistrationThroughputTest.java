@@ -0,0 +1,195 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.BatchRegistrationResult;
+import com.samsung.springtdd.models.DTO.RegistrationRequest;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseDailyStatsRepository;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import com.samsung.springtdd.models.repository.WaitlistRepository;
+import com.samsung.springtdd.services.cache.CourseCache;
+import com.samsung.springtdd.services.cache.WaitlistQueues;
+import com.samsung.springtdd.support.RegistrationServices;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the single-item registration path with the batch path against an embedded database.
+ * Both paths register the same number of rows; the batch path must do it with far fewer statements.
+ * The timed comparison is tagged {@code load}; run it with {@code mvn -P load-test test}.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class BatchRegistrationThroughputTest {
+    private static final int STUDENTS = 20;
+    private static final int COMPARED_STUDENTS = 5;
+    private static final int COURSES = 10;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private CourseDailyStatsRepository courseDailyStatsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private RegistrationService registrationService;
+    private CourseCache courseCache;
+    private WaitlistQueues waitlistQueues;
+    private List<Course> courses;
+
+    @BeforeEach
+    void setup() {
+        RegistrationServices services = new RegistrationServices(courseRepository, studentRepository,
+                registrationRepository, waitlistRepository, courseDailyStatsRepository);
+        courseCache = services.courseCache();
+        waitlistQueues = services.waitlistQueues();
+        registrationService = services.registrationService();
+
+        courses = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            courses.add(courseRepository.save(Course.builder()
+                    .name("Course " + i)
+                    .startTime(LocalDateTime.now().plusDays(30 + i))
+                    .endTime(LocalDateTime.now().plusDays(30 + i).plusHours(8))
+                    .price(1000000L)
+                    .build()));
+        }
+        for (int i = 0; i < STUDENTS * 2; i++) {
+            studentRepository.save(Student.builder().email("student" + i + "@example.com").build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void batchPathShouldIssueFewerStatementsThanSinglePath() {
+        Comparison comparison = registerBothWays(COMPARED_STUDENTS);
+
+        assertTrue(comparison.batchStatements() * 10 < comparison.singleStatements(),
+                "batch path issued " + comparison.batchStatements() + " statements, single path "
+                        + comparison.singleStatements());
+    }
+
+    @Test
+    @Tag("load")
+    void batchPathThroughput() {
+        Comparison comparison = registerBothWays(STUDENTS);
+
+        int items = STUDENTS * COURSES;
+        System.out.printf("single path: %d items, %d statements, %.0f items/s%n",
+                items, comparison.singleStatements(), items / (comparison.singleNanos() / 1e9));
+        System.out.printf("batch path:  %d items, %d statements, %.0f items/s%n",
+                items, comparison.batchStatements(), items / (comparison.batchNanos() / 1e9));
+        assertTrue(comparison.batchStatements() * 10 < comparison.singleStatements());
+    }
+
+    @Test
+    void bulkUnregisterShouldUseSetBasedStatementsWithoutLoadingEntities() {
+        List<RegistrationRequest> requests = new ArrayList<>();
+        for (int s = 0; s < STUDENTS; s++) {
+            for (Course course : courses) {
+                RegistrationRequest request = new RegistrationRequest();
+                request.setCourseId(course.getId());
+                request.setEmail("student" + s + "@example.com");
+                requests.add(request);
+            }
+        }
+        registrationService.registerCourses(requests);
+        entityManager.flush();
+        entityManager.clear();
+        List<Long> courseIds = courses.stream().map(Course::getId).toList();
+        courseIds.forEach(courseCache::find);
+        waitlistQueues.getAll(courseIds);
+        registrationService.getRegisteredCourses("student0@example.com");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        int dropped = registrationService.unregisterCourses("student0@example.com", courseIds);
+        int roster = registrationService.unregisterAll(courseIds.get(0));
+        entityManager.flush();
+
+        assertEquals(COURSES, dropped);
+        assertEquals(STUDENTS - 1, roster);
+        // Registrations and statistics rows are only changed in place, never read back.
+        assertEquals(0, statistics.getEntityLoadCount());
+        // The warm, empty waitlist queues are confirmed against the table, and unregisterAll empties the waitlist.
+        assertTrue(statistics.getPrepareStatementCount() <= 13,
+                "bulk unregister issued " + statistics.getPrepareStatementCount() + " statements");
+
+        entityManager.clear();
+        assertEquals(0, courseRepository.findById(courseIds.get(0)).orElseThrow().getSeatsTaken());
+        assertEquals(STUDENTS - 1, courseRepository.findById(courseIds.get(1)).orElseThrow().getSeatsTaken());
+        assertEquals((long) (STUDENTS - 1) * (COURSES - 1), registrationRepository.count());
+    }
+
+    /**
+     * Registers the first {@code students} students one course at a time and the next {@code students}
+     * in one batch, to every course, and returns what each path cost.
+     */
+    private Comparison registerBothWays(int students) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        long singleStart = System.nanoTime();
+        for (int s = 0; s < students; s++) {
+            for (Course course : courses) {
+                registrationService.registerCourse(course.getId(), "student" + s + "@example.com");
+            }
+        }
+        entityManager.flush();
+        long singleNanos = System.nanoTime() - singleStart;
+        long singleStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        List<RegistrationRequest> requests = new ArrayList<>();
+        for (int s = students; s < students * 2; s++) {
+            for (Course course : courses) {
+                RegistrationRequest request = new RegistrationRequest();
+                request.setCourseId(course.getId());
+                request.setEmail("student" + s + "@example.com");
+                requests.add(request);
+            }
+        }
+        statistics.clear();
+        long batchStart = System.nanoTime();
+        List<BatchRegistrationResult> results = registrationService.registerCourses(requests);
+        entityManager.flush();
+        long batchNanos = System.nanoTime() - batchStart;
+        long batchStatements = statistics.getPrepareStatementCount();
+
+        assertTrue(results.stream().allMatch(r -> r.getStatus() == BatchRegistrationResult.Status.REGISTERED));
+        assertEquals(students * COURSES * 2L, registrationRepository.count());
+        return new Comparison(singleStatements, singleNanos, batchStatements, batchNanos);
+    }
+
+    private record Comparison(long singleStatements, long singleNanos, long batchStatements, long batchNanos) {
+    }
+}
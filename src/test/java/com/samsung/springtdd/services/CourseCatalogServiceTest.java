@@ -0,0 +1,90 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CoursePage;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class CourseCatalogServiceTest {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private CourseCatalogService courseCatalogService;
+
+    @BeforeEach
+    void setup() {
+        courseCatalogService = new CourseCatalogService(courseRepository);
+
+        LocalDateTime sameStart = LocalDateTime.now().plusDays(10).withNano(0);
+        courseRepository.save(course("Past", LocalDateTime.now().minusDays(1)));
+        for (int i = 0; i < 5; i++) {
+            courseRepository.save(course("Tied " + i, sameStart));
+        }
+        for (int i = 0; i < 4; i++) {
+            courseRepository.save(course("Later " + i, sameStart.plusDays(i + 1)));
+        }
+    }
+
+    @Test
+    void shouldWalkAllUpcomingCoursesByKeyset() {
+        List<CourseSummary> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CoursePage page = courseCatalogService.findUpcoming(cursor, 3);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(9, seen.size());
+        assertEquals(3, pages);
+        assertEquals(9, seen.stream().map(CourseSummary::getId).distinct().count());
+        assertTrue(seen.stream().noneMatch(c -> c.getName().equals("Past")));
+        for (int i = 1; i < seen.size(); i++) {
+            CourseSummary previous = seen.get(i - 1);
+            CourseSummary current = seen.get(i);
+            assertTrue(previous.getStartTime().isBefore(current.getStartTime())
+                    || (previous.getStartTime().equals(current.getStartTime()) && previous.getId() < current.getId()));
+        }
+    }
+
+    @Test
+    void shouldStreamEveryUpcomingCourseInOrder() {
+        List<String> names = new ArrayList<>();
+
+        courseCatalogService.streamUpcoming(course -> names.add(course.getName()));
+
+        assertEquals(9, names.size());
+        assertEquals("Later 3", names.get(8));
+    }
+
+    @Test
+    void shouldRejectInvalidCursorAndLimit() {
+        assertThrows(IllegalArgumentException.class, () -> courseCatalogService.findUpcoming("not-a-cursor", 10));
+        assertThrows(IllegalArgumentException.class, () -> courseCatalogService.findUpcoming(null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> courseCatalogService.findUpcoming(null, CourseCatalogService.MAX_PAGE_SIZE + 1));
+    }
+
+    private Course course(String name, LocalDateTime startTime) {
+        return Course.builder()
+                .name(name)
+                .startTime(startTime)
+                .endTime(startTime.plusDays(30))
+                .price(1000000L)
+                .build();
+    }
+}
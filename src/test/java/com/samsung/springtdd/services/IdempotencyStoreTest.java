@@ -0,0 +1,117 @@
+package com.samsung.springtdd.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyStoreTest {
+
+    private final IdempotencyStore idempotencyStore = new IdempotencyStore(100, Duration.ofMinutes(5), Duration.ofSeconds(5));
+
+    @Test
+    void shouldRunActionOncePerKey() {
+        AtomicInteger calls = new AtomicInteger();
+
+        IdempotencyStore.Outcome<Integer> first = idempotencyStore.execute("key", "a", calls::incrementAndGet);
+        IdempotencyStore.Outcome<Integer> second = idempotencyStore.execute("key", "a", calls::incrementAndGet);
+
+        assertEquals(1, calls.get());
+        assertFalse(first.isReplayed());
+        assertTrue(second.isReplayed());
+        assertEquals(1, second.getResult());
+    }
+
+    @Test
+    void shouldNotStoreFailures() {
+        assertThrows(IllegalStateException.class, () -> idempotencyStore.execute("key", "a", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        IdempotencyStore.Outcome<String> retry = idempotencyStore.execute("key", "a", () -> "ok");
+
+        assertFalse(retry.isReplayed());
+        assertEquals("ok", retry.getResult());
+    }
+
+    @Test
+    void shouldReleaseKeyWhenActionThrowsError() {
+        assertThrows(StackOverflowError.class, () -> idempotencyStore.execute("key", "a", () -> {
+            throw new StackOverflowError();
+        }));
+
+        IdempotencyStore.Outcome<String> retry = idempotencyStore.execute("key", "a", () -> "ok");
+
+        assertFalse(retry.isReplayed());
+        assertEquals("ok", retry.getResult());
+    }
+
+    @Test
+    void shouldStopWaitingForSlowFirstRequest() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(100, Duration.ofMinutes(5), Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = executor.submit(() -> store.execute("key", "a", () -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "ok";
+            }).getResult());
+            started.await();
+
+            assertThrows(IdempotencyKeyInProgressException.class, () -> store.execute("key", "a", () -> "again"));
+            release.countDown();
+            assertEquals("ok", first.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldRejectKeyReuseWithDifferentFingerprint() {
+        idempotencyStore.execute("key", "a", () -> "ok");
+
+        assertThrows(IllegalArgumentException.class, () -> idempotencyStore.execute("key", "b", () -> "other"));
+    }
+
+    @Test
+    void shouldCollapseConcurrentRetries() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] futures = new Future<?>[8];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> idempotencyStore.execute("key", "a", () -> {
+                    calls.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "ok";
+                }).getResult());
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<?> future : futures) {
+                assertEquals("ok", future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, calls.get());
+    }
+}
@@ -0,0 +1,111 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.BatchRegistrationResult;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.RegistrationRequest;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseDailyStatsRepository;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import com.samsung.springtdd.models.repository.WaitlistRepository;
+import com.samsung.springtdd.services.cache.StudentCache;
+import com.samsung.springtdd.support.RegistrationServices;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Students stored before emails were normalized keep their original casing and must still be found.
+ */
+@DataJpaTest
+public class MixedCaseEmailTest {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private CourseDailyStatsRepository courseDailyStatsRepository;
+
+    private StudentCache studentCache;
+    private RegistrationService registrationService;
+    private Student student;
+    private Course java;
+    private Course spring;
+
+    @BeforeEach
+    void setup() {
+        RegistrationServices services = new RegistrationServices(courseRepository, studentRepository,
+                registrationRepository, waitlistRepository, courseDailyStatsRepository);
+        studentCache = services.studentCache();
+        registrationService = services.registrationService();
+
+        student = studentRepository.save(Student.builder().email("Mixed.Case@Example.com").build());
+        java = courseRepository.save(course("Java", 10));
+        spring = courseRepository.save(course("Spring", 20));
+    }
+
+    @Test
+    void shouldFindStudentByTheExactStoredEmail() {
+        assertEquals(Optional.of(student.getId()), studentCache.findStudentId("Mixed.Case@Example.com"));
+        assertEquals(Optional.of(student.getId()), studentCache.findStudentId("mixed.case@example.com"));
+    }
+
+    @Test
+    void shouldRegisterStudentWithMixedCaseEmail() {
+        List<CourseSummary> registered = registrationService.registerCourse(java.getId(), "Mixed.Case@Example.com");
+        List<BatchRegistrationResult> results = registrationService.registerCourses(
+                List.of(request(spring.getId(), "Mixed.Case@Example.com")));
+
+        assertEquals(1, registered.size());
+        assertEquals(BatchRegistrationResult.Status.REGISTERED, results.get(0).getStatus(), results.get(0).getMessage());
+        assertEquals(2, registrationService.getRegisteredCourses("MIXED.case@example.com").size());
+    }
+
+    @Test
+    void shouldResolveCaseDuplicatesToTheLowestId() {
+        Student first = studentRepository.save(Student.builder().email("Twin@Example.com").build());
+        studentRepository.save(Student.builder().email("twin@example.com").build());
+
+        assertEquals(Optional.of(first.getId()), studentCache.findStudentId("TWIN@example.com"));
+        registrationService.registerCourse(java.getId(), "twin@example.com");
+        List<BatchRegistrationResult> results = registrationService.registerCourses(
+                List.of(request(spring.getId(), "twin@example.com")));
+
+        assertEquals(BatchRegistrationResult.Status.REGISTERED, results.get(0).getStatus(), results.get(0).getMessage());
+        assertEquals(2, registrationRepository.countByStudentId(first.getId()));
+    }
+
+    private static Course course(String name, int startsInDays) {
+        return Course.builder()
+                .name(name)
+                .startTime(LocalDateTime.now().plusDays(startsInDays))
+                .endTime(LocalDateTime.now().plusDays(startsInDays).plusHours(8))
+                .price(1000000L)
+                .build();
+    }
+
+    private static RegistrationRequest request(Long courseId, String email) {
+        RegistrationRequest request = new RegistrationRequest();
+        request.setCourseId(courseId);
+        request.setEmail(email);
+        return request;
+    }
+}
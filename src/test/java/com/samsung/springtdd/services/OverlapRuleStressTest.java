@@ -0,0 +1,108 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Registers each student for two overlapping courses at the same moment, from different threads, and
+ * checks that only one of each pair commits. The two requests lock different course rows, so only the
+ * student row keeps them apart.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+public class OverlapRuleStressTest {
+    private static final int STUDENTS = 40;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @AfterEach
+    void cleanup() {
+        registrationRepository.deleteAll();
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    void shouldNeverRegisterStudentForOverlappingCoursesConcurrently() throws Exception {
+        List<Long[]> pairs = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            studentRepository.save(Student.builder().email("busy" + i + "@example.com").build());
+            LocalDateTime start = LocalDateTime.now().plusDays(30 + i);
+            Course morning = courseRepository.save(course("Morning " + i, start));
+            Course overlapping = courseRepository.save(course("Overlapping " + i, start.plusHours(2)));
+            pairs.add(new Long[]{morning.getId(), overlapping.getId()});
+        }
+
+        AtomicInteger registered = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            String email = "busy" + i + "@example.com";
+            for (Long courseId : pairs.get(i)) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        registrationService.registerCourse(courseId, email);
+                        registered.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        assertTrue(e.getMessage().contains("overlaps"), e.getMessage());
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(STUDENTS, registered.get());
+        assertEquals(STUDENTS, rejected.get());
+        assertEquals(STUDENTS, registrationRepository.count());
+    }
+
+    private static Course course(String name, LocalDateTime start) {
+        return Course.builder()
+                .name(name)
+                .startTime(start)
+                .endTime(start.plusHours(8))
+                .price(1000000L)
+                .build();
+    }
+}
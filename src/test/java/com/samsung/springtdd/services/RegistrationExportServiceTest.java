@@ -0,0 +1,153 @@
+package com.samsung.springtdd.services;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.RegistrationExportRow;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.ArchivedRegistrationRepository;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class RegistrationExportServiceTest {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private ArchivedRegistrationRepository archivedRegistrationRepository;
+
+    private RegistrationExportService registrationExportService;
+
+    private final LocalDateTime day = LocalDateTime.of(2030, 3, 1, 0, 0);
+
+    @BeforeEach
+    void setup() {
+        registrationExportService = new RegistrationExportService(registrationRepository, archivedRegistrationRepository,
+                JsonMapper.builder()
+                        .findAndAddModules()
+                        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                        .build());
+
+        Course java = courseRepository.save(course("Java, \"Basics\""));
+        Course spring = courseRepository.save(course("Spring Boot"));
+        Student alice = studentRepository.save(Student.builder().email("alice@example.com").build());
+        Student bob = studentRepository.save(Student.builder().email("bob@example.com").build());
+        registrationRepository.save(registration(alice, java, day.plusHours(9)));
+        registrationRepository.save(registration(alice, spring, day.plusDays(1).plusHours(9)));
+        registrationRepository.save(registration(bob, spring, null));
+    }
+
+    @Test
+    void shouldStreamEveryRegistrationInIdOrder() {
+        List<RegistrationExportRow> rows = new ArrayList<>();
+
+        registrationExportService.stream(null, null, rows::add);
+
+        assertEquals(3, rows.size());
+        assertTrue(rows.get(0).getId() < rows.get(1).getId() && rows.get(1).getId() < rows.get(2).getId());
+        assertEquals("alice@example.com", rows.get(0).getEmail());
+        assertEquals("Java, \"Basics\"", rows.get(0).getCourseName());
+        assertNull(rows.get(2).getRegisteredDate());
+    }
+
+    @Test
+    void shouldMergeArchivedRegistrationsInIdOrder() {
+        List<Long> ids = new ArrayList<>();
+        registrationExportService.stream(null, null, row -> ids.add(row.getId()));
+        archivedRegistrationRepository.copyFromRegistrations(List.of(ids.get(1)), LocalDateTime.now());
+        registrationRepository.deleteByIdIn(List.of(ids.get(1)));
+
+        List<Long> exported = new ArrayList<>();
+        registrationExportService.stream(null, null, row -> exported.add(row.getId()));
+        List<String> inRange = new ArrayList<>();
+        registrationExportService.stream(day, null, row -> inRange.add(row.getCourseName()));
+
+        assertEquals(ids, exported);
+        assertEquals(List.of("Java, \"Basics\"", "Spring Boot"), inRange);
+    }
+
+    @Test
+    void shouldFilterByHalfOpenDateRange() {
+        List<String> courses = new ArrayList<>();
+
+        registrationExportService.stream(day, day.plusDays(1), row -> courses.add(row.getCourseName()));
+        assertEquals(List.of("Java, \"Basics\""), courses);
+
+        courses.clear();
+        registrationExportService.stream(day.plusHours(10), null, row -> courses.add(row.getCourseName()));
+        assertEquals(List.of("Spring Boot"), courses);
+    }
+
+    @Test
+    void shouldWriteQuotedCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        registrationExportService.writeCsv(null, day.plusDays(1), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(RegistrationExportService.CSV_HEADER, lines[0]);
+        assertTrue(lines[1].matches("\\d+,\\d+,alice@example.com,\\d+,\"Java, \"\"Basics\"\"\",1000000,2030-03-01T09:00"),
+                lines[1]);
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLine() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        registrationExportService.writeNdjson(day.plusDays(1), null, out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        assertEquals(1, body.split("\n").length);
+        assertTrue(body.contains("\"courseName\":\"Spring Boot\""), body);
+        assertTrue(body.contains("\"registeredDate\":\"2030-03-02T09:00:00\""), body);
+    }
+
+    @Test
+    void shouldRejectEmptyRange() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> registrationExportService.stream(day, day, row -> { }));
+        assertEquals("'from' must be before 'to'", exception.getMessage());
+    }
+
+    private Course course(String name) {
+        return Course.builder()
+                .name(name)
+                .startTime(day.plusDays(30))
+                .endTime(day.plusDays(60))
+                .price(1000000L)
+                .build();
+    }
+
+    private Registration registration(Student student, Course course, LocalDateTime registeredDate) {
+        return Registration.builder()
+                .student(student)
+                .course(course)
+                .price(course.getPrice())
+                .registeredDate(registeredDate)
+                .build();
+    }
+}
@@ -0,0 +1,152 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.BatchRegistrationResult;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.RegistrationRequest;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseDailyStatsRepository;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import com.samsung.springtdd.models.repository.WaitlistRepository;
+import com.samsung.springtdd.services.reporting.CourseStatsRecorder;
+import com.samsung.springtdd.support.RegistrationServices;
+import com.samsung.springtdd.support.StatementBudget;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement budgets for the registration operations, run against the real JPA mapping on an embedded
+ * database. Budgets are per call with cold caches and must not grow with the number of rows involved;
+ * a lazy-loading loop or a per-row query shows up here as a failed build. Writes include creating the
+ * day's statistics rows, the most expensive case of {@link com.samsung.springtdd.services.reporting.CourseStatsRecorder}.
+ */
+@DataJpaTest
+public class RegistrationQueryBudgetTest {
+    private static final int REGISTRATIONS = 50;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private CourseDailyStatsRepository courseDailyStatsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private RegistrationService registrationService;
+    private StatementBudget budget;
+    private List<Course> courses;
+    private Course openCourse;
+
+    @BeforeEach
+    void setup() {
+        registrationService = new RegistrationServices(courseRepository, studentRepository, registrationRepository,
+                waitlistRepository, courseDailyStatsRepository).registrationService();
+        budget = new StatementBudget(entityManager);
+
+        Student student = studentRepository.save(Student.builder().email("busy@example.com").build());
+        studentRepository.save(Student.builder().email("new@example.com").build());
+        courses = new ArrayList<>();
+        for (int i = 0; i < REGISTRATIONS; i++) {
+            Course course = courseRepository.save(Course.builder()
+                    .name("Course " + i)
+                    .startTime(LocalDateTime.now().plusDays(10 + i))
+                    .endTime(LocalDateTime.now().plusDays(10 + i).plusHours(8))
+                    .price(1000000L)
+                    .seatsTaken(1)
+                    .build());
+            courses.add(course);
+            registrationRepository.save(Registration.builder()
+                    .student(student)
+                    .course(course)
+                    .price(course.getPrice())
+                    .registeredDate(LocalDateTime.now())
+                    .build());
+        }
+        openCourse = courseRepository.save(Course.builder()
+                .name("Open course")
+                .startTime(LocalDateTime.now().plusDays(100))
+                .endTime(LocalDateTime.now().plusDays(130))
+                .price(1000000L)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getRegisteredCoursesWithManyRegistrations() {
+        List<CourseSummary> registered = budget.expect("getRegisteredCourses", 2, 0,
+                () -> registrationService.getRegisteredCourses("busy@example.com"));
+
+        assertEquals(REGISTRATIONS, registered.size());
+    }
+
+    @Test
+    void registerCourseForStudentWithManyRegistrations() {
+        List<CourseSummary> registered = budget.expect("registerCourse", 12, 1,
+                () -> registrationService.registerCourse(openCourse.getId(), "busy@example.com"));
+
+        assertEquals(REGISTRATIONS + 1, registered.size());
+    }
+
+    @Test
+    void unregisterCourse() {
+        budget.expect("unregisterCourse", 11, 1,
+                () -> registrationService.unregisterCourse(courses.get(0).getId(), "busy@example.com"));
+    }
+
+    @Test
+    void unregisterManyCourses() {
+        List<Long> courseIds = courses.stream().map(Course::getId).toList();
+
+        int deleted = budget.expect("unregisterCourses", 11,
+                () -> registrationService.unregisterCourses("busy@example.com", courseIds));
+
+        assertEquals(REGISTRATIONS, deleted);
+    }
+
+    @Test
+    void quotePricesForManyCourses() {
+        List<Long> courseIds = courses.stream().map(Course::getId).toList();
+
+        budget.expect("quotePrices", 3,
+                () -> registrationService.quotePrices("busy@example.com", courseIds));
+    }
+
+    @Test
+    void registerBatchAcrossManyCourses() {
+        List<RegistrationRequest> requests = new ArrayList<>();
+        for (Course course : courses) {
+            RegistrationRequest request = new RegistrationRequest();
+            request.setCourseId(course.getId());
+            request.setEmail("new@example.com");
+            requests.add(request);
+        }
+
+        List<BatchRegistrationResult> results = budget.expect("registerCourses", 14,
+                () -> registrationService.registerCourses(requests));
+
+        assertTrue(results.stream().allMatch(r -> r.getStatus() == BatchRegistrationResult.Status.REGISTERED));
+    }
+}
@@ -1,27 +1,49 @@
 package com.samsung.springtdd.services;
 
+import com.samsung.springtdd.config.ReadYourWrites;
 import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.BatchRegistrationResult;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.PriceQuote;
+import com.samsung.springtdd.models.DTO.RegisteredPrice;
+import com.samsung.springtdd.models.DTO.RegistrationRequest;
+import com.samsung.springtdd.models.DTO.ScheduledCourse;
+import com.samsung.springtdd.models.DTO.StudentCoursePair;
+import com.samsung.springtdd.models.DTO.StudentRegistrationCount;
 import com.samsung.springtdd.models.Registration;
 import com.samsung.springtdd.models.Student;
 import com.samsung.springtdd.models.repository.CourseRepository;
 import com.samsung.springtdd.models.repository.RegistrationRepository;
 import com.samsung.springtdd.models.repository.StudentRepository;
+import com.samsung.springtdd.services.cache.CourseCache;
+import com.samsung.springtdd.services.cache.StudentCache;
+import com.samsung.springtdd.services.cache.StudentSchedules;
+import com.samsung.springtdd.services.pricing.LoyaltyDiscountRule;
+import com.samsung.springtdd.services.pricing.PricingEngine;
+import com.samsung.springtdd.services.reporting.CourseStatsRecorder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
-import java.math.BigInteger;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +58,30 @@ public class RegistrationServiceTest {
     @Mock
     private RegistrationRepository registrationRepository;
 
+    @Mock
+    private CourseCache courseCache;
+
+    @Mock
+    private StudentCache studentCache;
+
+    @Mock
+    private StudentSchedules studentSchedules;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private CourseStatsRecorder courseStatsRecorder;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(5), 1000);
+
+    @Spy
+    private PricingEngine pricingEngine = new PricingEngine(List.of(new LoyaltyDiscountRule()));
+
     @InjectMocks
     private RegistrationService registrationService;
 
@@ -55,128 +101,123 @@ public class RegistrationServiceTest {
         futureCourse = Course.builder()
                 .id(1L)
                 .name("Java Basics")
-                .startTime(LocalDateTime.of(2025, 4, 1, 9, 0))
-                .endTime(LocalDateTime.of(2025, 4, 30, 17, 0))
-                .price(BigInteger.valueOf(1000000))
+                .startTime(LocalDateTime.now().plusDays(30))
+                .endTime(LocalDateTime.now().plusDays(60))
+                .price(1000000L)
                 .build();
 
         pastCourse = Course.builder()
                 .id(2L)
                 .name("Old Course")
-                .startTime(LocalDateTime.of(2023, 1, 1, 9, 0))
-                .endTime(LocalDateTime.of(2023, 1, 31, 17, 0))
-                .price(BigInteger.valueOf(800000))
+                .startTime(LocalDateTime.now().minusDays(60))
+                .endTime(LocalDateTime.now().minusDays(30))
+                .price(800000L)
                 .build();
+
+        lenient().when(studentSchedules.getCurrent(any(), any())).thenReturn(StudentSchedules.Schedule.EMPTY);
+        lenient().when(studentSchedules.getAllCurrent(any())).thenAnswer(invocation -> {
+            Map<String, Long> studentIdsByEmail = invocation.getArgument(0);
+            Map<String, StudentSchedules.Schedule> schedules = new HashMap<>();
+            studentIdsByEmail.keySet().forEach(email -> schedules.put(email, StudentSchedules.Schedule.EMPTY));
+            return schedules;
+        });
     }
 
     @Test
     void shouldRegisterCourseSuccessfully() {
-        when(studentRepository.findByEmail("student1@example.com")).thenReturn(student);
-        when(courseRepository.findById(1L)).thenReturn(Optional.of(futureCourse));
-        when(registrationRepository.findByStudent(student)).thenReturn(Collections.emptyList());
-        when(registrationRepository.save(any(Registration.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(courseCache.find(1L)).thenReturn(Optional.of(CourseSummary.from(futureCourse)));
+        when(courseRepository.reserveSeat(1L)).thenReturn(1);
+        when(registrationRepository.countByStudentId(1L)).thenReturn(0L);
+        when(registrationRepository.saveAndFlush(any(Registration.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(registrationRepository.findFutureCoursesByStudentId(eq(1L), any(LocalDateTime.class)))
+                .thenReturn(Collections.singletonList(CourseSummary.from(futureCourse)));
 
-        List<Course> registeredCourses = registrationService.registerCourse(1L, "student1@example.com");
+        List<CourseSummary> registeredCourses = registrationService.registerCourse(1L, "student1@example.com");
 
         assertNotNull(registeredCourses);
         assertEquals(1, registeredCourses.size());
-        assertEquals(futureCourse, registeredCourses.get(0));
-        verify(registrationRepository, times(1)).save(any(Registration.class));
+        assertEquals(futureCourse.getId(), registeredCourses.get(0).getId());
+        verify(registrationRepository, times(1)).saveAndFlush(any(Registration.class));
     }
 
     @Test
     void shouldApplyDiscountWhenRegisteringThirdCourse() {
-        Registration reg1 = Registration.builder()
-                .student(student)
-                .course(futureCourse)
-                .price(BigInteger.valueOf(1000000))
-                .registeredDate(LocalDateTime.now())
-                .build();
-        Registration reg2 = Registration.builder()
-                .student(student)
-                .course(futureCourse)
-                .price(BigInteger.valueOf(1000000))
-                .registeredDate(LocalDateTime.now())
-                .build();
-        List<Registration> existingRegistrations = Arrays.asList(reg1, reg2);
-
-        when(studentRepository.findByEmail("student1@example.com")).thenReturn(student);
-        when(courseRepository.findById(1L)).thenReturn(Optional.of(futureCourse));
-        when(registrationRepository.findByStudent(student)).thenReturn(existingRegistrations);
-        when(registrationRepository.save(any(Registration.class))).thenAnswer(invocation -> {
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(courseCache.find(1L)).thenReturn(Optional.of(CourseSummary.from(futureCourse)));
+        when(courseRepository.reserveSeat(1L)).thenReturn(1);
+        when(registrationRepository.countByStudentId(1L)).thenReturn(2L);
+        when(registrationRepository.saveAndFlush(any(Registration.class))).thenAnswer(invocation -> {
             Registration saved = invocation.getArgument(0);
-            assertEquals(BigInteger.valueOf(750000), saved.getPrice());
+            assertEquals(750000L, saved.getPrice());
             return saved;
         });
+        when(registrationRepository.findFutureCoursesByStudentId(eq(1L), any(LocalDateTime.class)))
+                .thenReturn(Arrays.asList(CourseSummary.from(futureCourse), CourseSummary.from(futureCourse)));
 
-        List<Course> registeredCourses = registrationService.registerCourse(1L, "student1@example.com");
+        List<CourseSummary> registeredCourses = registrationService.registerCourse(1L, "student1@example.com");
 
         assertNotNull(registeredCourses);
         assertEquals(2, registeredCourses.size());
-        assertEquals(futureCourse, registeredCourses.get(0));
-        verify(registrationRepository, times(1)).save(any(Registration.class));
+        assertEquals(futureCourse.getId(), registeredCourses.get(0).getId());
+        verify(registrationRepository, times(1)).saveAndFlush(any(Registration.class));
     }
 
     @Test
     void shouldThrowExceptionWhenStudentNotFoundOnRegister() {
-        when(studentRepository.findByEmail("unknown@example.com")).thenReturn(null);
+        when(studentCache.findStudentId("unknown@example.com")).thenReturn(Optional.empty());
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
                 registrationService.registerCourse(1L, "unknown@example.com"));
 
         assertEquals("Student with email unknown@example.com not found", exception.getMessage());
-        verify(registrationRepository, never()).save(any(Registration.class));
+        verify(registrationRepository, never()).saveAndFlush(any(Registration.class));
     }
 
     @Test
     void shouldThrowExceptionWhenCourseNotFoundOnRegister() {
-        when(studentRepository.findByEmail("student1@example.com")).thenReturn(student);
-        when(courseRepository.findById(1L)).thenReturn(Optional.empty());
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(courseCache.find(1L)).thenReturn(Optional.empty());
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
                 registrationService.registerCourse(1L, "student1@example.com"));
 
         assertEquals("Course with ID 1 not found", exception.getMessage());
-        verify(registrationRepository, never()).save(any(Registration.class));
+        verify(registrationRepository, never()).saveAndFlush(any(Registration.class));
     }
 
     @Test
     void shouldThrowExceptionWhenRegisteringPastCourse() {
-        when(studentRepository.findByEmail("student1@example.com")).thenReturn(student);
-        when(courseRepository.findById(2L)).thenReturn(Optional.of(pastCourse));
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(courseCache.find(2L)).thenReturn(Optional.of(CourseSummary.from(pastCourse)));
 
         IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
                 registrationService.registerCourse(2L, "student1@example.com"));
 
         assertEquals("Cannot register a past course", exception.getMessage());
-        verify(registrationRepository, never()).save(any(Registration.class));
+        verify(registrationRepository, never()).saveAndFlush(any(Registration.class));
     }
 
     @Test
     void shouldGetRegisteredCoursesSuccessfully() {
-        Registration reg = Registration.builder()
-                .student(student)
-                .course(futureCourse)
-                .price(BigInteger.valueOf(1000000))
-                .registeredDate(LocalDateTime.now())
-                .build();
-
-        when(studentRepository.findByEmail("student1@example.com")).thenReturn(student);
-        when(registrationRepository.findByStudent(student)).thenReturn(Collections.singletonList(reg));
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(registrationRepository.findFutureCoursesByStudentId(eq(1L), any(LocalDateTime.class)))
+                .thenReturn(Collections.singletonList(CourseSummary.from(futureCourse)));
 
-        List<Course> courses = registrationService.getRegisteredCourses("student1@example.com");
+        List<CourseSummary> courses = registrationService.getRegisteredCourses("student1@example.com");
 
         assertNotNull(courses);
         assertEquals(1, courses.size());
-        assertEquals(futureCourse, courses.get(0));
+        assertEquals("Java Basics", courses.get(0).getName());
     }
 
     @Test
     void shouldReturnEmptyListWhenNoRegisteredCourses() {
-        when(studentRepository.findByEmail("student1@example.com")).thenReturn(student);
-        when(registrationRepository.findByStudent(student)).thenReturn(Collections.emptyList());
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(registrationRepository.findFutureCoursesByStudentId(eq(1L), any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyList());
 
-        List<Course> courses = registrationService.getRegisteredCourses("student1@example.com");
+        List<CourseSummary> courses = registrationService.getRegisteredCourses("student1@example.com");
 
         assertNotNull(courses);
         assertEquals(0, courses.size());
@@ -184,7 +225,7 @@ public class RegistrationServiceTest {
 
     @Test
     void shouldThrowExceptionWhenStudentNotFoundOnGetRegisteredCourses() {
-        when(studentRepository.findByEmail("unknown@example.com")).thenReturn(null);
+        when(studentCache.findStudentId("unknown@example.com")).thenReturn(Optional.empty());
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
                 registrationService.getRegisteredCourses("unknown@example.com"));
@@ -194,48 +235,313 @@ public class RegistrationServiceTest {
 
     @Test
     void shouldUnregisterCourseSuccessfully() {
-        when(studentRepository.findByEmail("student1@example.com")).thenReturn(student);
-        when(courseRepository.findById(1L)).thenReturn(Optional.of(futureCourse));
-        doNothing().when(registrationRepository).deleteByStudentAndCourse(student, futureCourse);
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(courseCache.find(1L)).thenReturn(Optional.of(CourseSummary.from(futureCourse)));
+        List<RegisteredPrice> registered = List.of(registeredPrice(1L, 1000000L));
+        when(registrationRepository.findPrices(1L, List.of(1L))).thenReturn(registered);
+        when(registrationRepository.deleteByStudentIdAndCourseId(1L, 1L)).thenReturn(1);
 
         boolean result = registrationService.unregisterCourse(1L, "student1@example.com");
 
         assertTrue(result);
-        verify(registrationRepository, times(1)).deleteByStudentAndCourse(student, futureCourse);
+        verify(registrationRepository, times(1)).deleteByStudentIdAndCourseId(1L, 1L);
+        verify(courseRepository, times(1)).releaseSeats(1L, 1L);
+        verify(courseStatsRecorder, times(1)).record(any(CourseStatsRecorder.Changes.class));
+        verifyNoInteractions(studentRepository);
+    }
+
+    @Test
+    void shouldNotDeleteWhenNotRegisteredOnUnregister() {
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(courseCache.find(1L)).thenReturn(Optional.of(CourseSummary.from(futureCourse)));
+
+        assertTrue(registrationService.unregisterCourse(1L, "student1@example.com"));
+
+        verify(registrationRepository, never()).deleteByStudentIdAndCourseId(any(), any());
+        verifyNoInteractions(courseStatsRecorder);
     }
 
     @Test
     void shouldThrowExceptionWhenUnregisteringPastCourse() {
-        when(studentRepository.findByEmail("student1@example.com")).thenReturn(student);
-        when(courseRepository.findById(2L)).thenReturn(Optional.of(pastCourse));
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(courseCache.find(2L)).thenReturn(Optional.of(CourseSummary.from(pastCourse)));
 
         IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
                 registrationService.unregisterCourse(2L, "student1@example.com"));
 
         assertEquals("Cannot unregister a past course", exception.getMessage());
-        verify(registrationRepository, never()).deleteByStudentAndCourse(any(Student.class), any(Course.class));
+        verify(registrationRepository, never()).deleteByStudentIdAndCourseId(any(), any());
     }
 
     @Test
     void shouldThrowExceptionWhenStudentNotFoundOnUnregister() {
-        when(studentRepository.findByEmail("unknown@example.com")).thenReturn(null);
+        when(studentCache.findStudentId("unknown@example.com")).thenReturn(Optional.empty());
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
                 registrationService.unregisterCourse(1L, "unknown@example.com"));
 
         assertEquals("Student with email unknown@example.com not found", exception.getMessage());
-        verify(registrationRepository, never()).deleteByStudentAndCourse(any(Student.class), any(Course.class));
+        verify(registrationRepository, never()).deleteByStudentIdAndCourseId(any(), any());
     }
 
     @Test
     void shouldThrowExceptionWhenCourseNotFoundOnUnregister() {
-        when(studentRepository.findByEmail("student1@example.com")).thenReturn(student);
-        when(courseRepository.findById(999L)).thenReturn(Optional.empty());
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(courseCache.find(999L)).thenReturn(Optional.empty());
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
                 registrationService.unregisterCourse(999L, "student1@example.com"));
 
         assertEquals("Course with ID 999 not found", exception.getMessage());
-        verify(registrationRepository, never()).deleteByStudentAndCourse(any(Student.class), any(Course.class));
+        verify(registrationRepository, never()).deleteByStudentIdAndCourseId(any(), any());
+    }
+
+    @Test
+    void shouldUnregisterSeveralCoursesWithOneDelete() {
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(courseCache.findAll(anyCollection())).thenReturn(Map.of(
+                1L, CourseSummary.from(futureCourse), 3L, CourseSummary.from(futureCourse)));
+        List<RegisteredPrice> registered = List.of(registeredPrice(1L, 1000000L));
+        when(registrationRepository.findPrices(eq(1L), anyCollection())).thenReturn(registered);
+        when(registrationRepository.deleteByStudentIdAndCourseIdIn(1L, List.of(1L))).thenReturn(1);
+
+        int deleted = registrationService.unregisterCourses("student1@example.com", List.of(1L, 3L));
+
+        assertEquals(1, deleted);
+        verify(courseRepository, times(1)).releaseOneSeatEach(List.of(1L));
+    }
+
+    @Test
+    void shouldRejectBulkUnregisterContainingPastCourse() {
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(courseCache.findAll(anyCollection())).thenReturn(Map.of(
+                1L, CourseSummary.from(futureCourse), 2L, CourseSummary.from(pastCourse)));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                registrationService.unregisterCourses("student1@example.com", List.of(1L, 2L)));
+
+        assertEquals("Cannot unregister a past course", exception.getMessage());
+        verify(registrationRepository, never()).deleteByStudentIdAndCourseIdIn(any(), anyCollection());
+    }
+
+    @Test
+    void shouldUnregisterWholeRosterAndReleaseSeats() {
+        when(courseCache.find(1L)).thenReturn(Optional.of(CourseSummary.from(futureCourse)));
+        when(registrationRepository.deleteByCourseId(1L)).thenReturn(12);
+
+        int deleted = registrationService.unregisterAll(1L);
+
+        assertEquals(12, deleted);
+        verify(courseRepository, times(1)).releaseSeats(1L, 12L);
+    }
+
+    @Test
+    void shouldRegisterBatchWithSetBasedLookups() {
+        when(studentRepository.findByEmailIn(anyCollection())).thenReturn(List.of(student));
+        when(courseRepository.findByIdInOrderById(anyCollection())).thenReturn(List.of(futureCourse, pastCourse));
+        when(registrationRepository.countByStudentIds(anyCollection())).thenReturn(Collections.emptyList());
+
+        List<BatchRegistrationResult> results = registrationService.registerCourses(List.of(
+                request(1L, "student1@example.com"),
+                request(2L, "student1@example.com"),
+                request(999L, "student1@example.com"),
+                request(1L, "unknown@example.com")));
+
+        assertEquals(4, results.size());
+        assertEquals(BatchRegistrationResult.Status.REGISTERED, results.get(0).getStatus());
+        assertEquals(1000000L, results.get(0).getPrice());
+        assertEquals("Cannot register a past course", results.get(1).getMessage());
+        assertEquals("Course with ID 999 not found", results.get(2).getMessage());
+        assertEquals("Student with email unknown@example.com not found", results.get(3).getMessage());
+        verify(registrationRepository, times(1)).saveAll(argThat(saved -> ((List<?>) saved).size() == 1));
+        verify(studentRepository, never()).findByEmail(any());
+        verify(registrationRepository, never()).saveAndFlush(any(Registration.class));
+    }
+
+    @Test
+    void shouldApplyDiscountCumulativelyWithinBatch() {
+        StudentRegistrationCount count = mock(StudentRegistrationCount.class);
+        when(count.getStudentId()).thenReturn(1L);
+        when(count.getRegistrationCount()).thenReturn(1L);
+        Course secondCourse = Course.builder()
+                .id(3L)
+                .name("Spring Boot")
+                .startTime(LocalDateTime.now().plusDays(70))
+                .endTime(LocalDateTime.now().plusDays(100))
+                .price(1000000L)
+                .build();
+        when(studentRepository.findByEmailIn(anyCollection())).thenReturn(List.of(student));
+        when(courseRepository.findByIdInOrderById(anyCollection())).thenReturn(List.of(futureCourse, secondCourse));
+        when(registrationRepository.countByStudentIds(anyCollection())).thenReturn(List.of(count));
+
+        List<BatchRegistrationResult> results = registrationService.registerCourses(List.of(
+                request(1L, "student1@example.com"),
+                request(3L, "student1@example.com")));
+
+        assertEquals(1000000L, results.get(0).getPrice());
+        assertEquals(750000L, results.get(1).getPrice());
+    }
+
+    @Test
+    void shouldFailBatchItemsAlreadyRegistered() {
+        StudentCoursePair existing = mock(StudentCoursePair.class);
+        when(existing.getStudentId()).thenReturn(1L);
+        when(existing.getCourseId()).thenReturn(1L);
+        when(studentRepository.findByEmailIn(anyCollection())).thenReturn(List.of(student));
+        when(courseRepository.findByIdInOrderById(anyCollection())).thenReturn(List.of(futureCourse));
+        when(registrationRepository.countByStudentIds(anyCollection())).thenReturn(Collections.emptyList());
+        when(registrationRepository.findPairs(anyCollection(), anyCollection())).thenReturn(List.of(existing));
+
+        List<BatchRegistrationResult> results = registrationService.registerCourses(List.of(
+                request(1L, "student1@example.com")));
+
+        assertEquals("Already registered for course with ID 1", results.get(0).getMessage());
+        assertEquals(0, futureCourse.getSeatsTaken());
+    }
+
+    @Test
+    void shouldFailRepeatedPairWithinBatch() {
+        when(studentRepository.findByEmailIn(anyCollection())).thenReturn(List.of(student));
+        when(courseRepository.findByIdInOrderById(anyCollection())).thenReturn(List.of(futureCourse));
+        when(registrationRepository.countByStudentIds(anyCollection())).thenReturn(Collections.emptyList());
+
+        List<BatchRegistrationResult> results = registrationService.registerCourses(List.of(
+                request(1L, "student1@example.com"),
+                request(1L, "Student1@Example.com")));
+
+        assertEquals(BatchRegistrationResult.Status.REGISTERED, results.get(0).getStatus());
+        assertEquals("Already registered for course with ID 1", results.get(1).getMessage());
+    }
+
+    @Test
+    void shouldFailBatchItemsOverlappingEachOther() {
+        Course overlapping = Course.builder()
+                .id(3L)
+                .name("Spring Boot")
+                .startTime(LocalDateTime.now().plusDays(45))
+                .endTime(LocalDateTime.now().plusDays(75))
+                .price(1000000L)
+                .build();
+        when(studentRepository.findByEmailIn(anyCollection())).thenReturn(List.of(student));
+        when(courseRepository.findByIdInOrderById(anyCollection())).thenReturn(List.of(futureCourse, overlapping));
+        when(registrationRepository.countByStudentIds(anyCollection())).thenReturn(Collections.emptyList());
+
+        List<BatchRegistrationResult> results = registrationService.registerCourses(List.of(
+                request(1L, "student1@example.com"),
+                request(3L, "student1@example.com")));
+
+        assertEquals(BatchRegistrationResult.Status.REGISTERED, results.get(0).getStatus());
+        assertEquals("Course with ID 3 overlaps course with ID 1", results.get(1).getMessage());
+        assertEquals(0, overlapping.getSeatsTaken());
+    }
+
+    @Test
+    void shouldRejectRegistrationOverlappingHeldCourse() {
+        ScheduledCourse held = mock(ScheduledCourse.class);
+        when(held.getCourseId()).thenReturn(3L);
+        when(held.getStartTime()).thenReturn(LocalDateTime.now().plusDays(50));
+        when(held.getEndTime()).thenReturn(LocalDateTime.now().plusDays(80));
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(courseCache.find(1L)).thenReturn(Optional.of(CourseSummary.from(futureCourse)));
+        StudentSchedules.Schedule schedule = StudentSchedules.Schedule.of(List.of(held));
+        when(studentSchedules.getCurrent("student1@example.com", 1L)).thenReturn(schedule);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                registrationService.registerCourse(1L, "student1@example.com"));
+
+        assertEquals("Course with ID 1 overlaps course with ID 3", exception.getMessage());
+        verify(courseRepository, never()).reserveSeat(any());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenAlreadyRegistered() {
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(courseCache.find(1L)).thenReturn(Optional.of(CourseSummary.from(futureCourse)));
+        when(courseRepository.reserveSeat(1L)).thenReturn(1);
+        when(registrationRepository.saveAndFlush(any(Registration.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_registrations_student_course"));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                registrationService.registerCourse(1L, "student1@example.com"));
+
+        assertEquals("Already registered for course with ID 1", exception.getMessage());
+    }
+
+    @Test
+    void shouldQuoteCoursesFromRegistrationCount() {
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(courseRepository.findAllById(anyCollection())).thenReturn(List.of(futureCourse, pastCourse));
+        when(registrationRepository.countByStudentId(1L)).thenReturn(2L);
+
+        List<PriceQuote> quotes = registrationService.quotePrices("student1@example.com", List.of(1L, 2L));
+
+        assertEquals(2, quotes.size());
+        assertEquals(1000000L, quotes.get(0).getBasePrice());
+        assertEquals(750000L, quotes.get(0).getPrice());
+        assertEquals(600000L, quotes.get(1).getPrice());
+        verify(registrationRepository, never()).findByStudent(any(Student.class));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenQuotingUnknownCourse() {
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(courseRepository.findAllById(anyCollection())).thenReturn(List.of(futureCourse));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                registrationService.quotePrices("student1@example.com", List.of(1L, 999L)));
+
+        assertEquals("Course with ID 999 not found", exception.getMessage());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenCourseIsFull() {
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(courseCache.find(1L)).thenReturn(Optional.of(CourseSummary.from(futureCourse)));
+        when(courseRepository.reserveSeat(1L)).thenReturn(0);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                registrationService.registerCourse(1L, "student1@example.com"));
+
+        assertEquals("Course with ID 1 is full", exception.getMessage());
+        verify(registrationRepository, never()).saveAndFlush(any(Registration.class));
+    }
+
+    @Test
+    void shouldFailBatchItemsBeyondCapacity() {
+        Student secondStudent = Student.builder().id(2L).email("student2@example.com").build();
+        futureCourse.setCapacity(1);
+        when(studentRepository.findByEmailIn(anyCollection())).thenReturn(List.of(student, secondStudent));
+        when(courseRepository.findByIdInOrderById(anyCollection())).thenReturn(List.of(futureCourse));
+        when(registrationRepository.countByStudentIds(anyCollection())).thenReturn(Collections.emptyList());
+
+        List<BatchRegistrationResult> results = registrationService.registerCourses(List.of(
+                request(1L, "student1@example.com"),
+                request(1L, "student2@example.com")));
+
+        assertEquals(BatchRegistrationResult.Status.REGISTERED, results.get(0).getStatus());
+        assertEquals("Course with ID 1 is full", results.get(1).getMessage());
+        assertEquals(1, futureCourse.getSeatsTaken());
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                registrationService.registerCourses(Collections.emptyList()));
+
+        assertEquals("Batch must contain at least one registration", exception.getMessage());
+    }
+
+    private RegisteredPrice registeredPrice(Long courseId, long price) {
+        RegisteredPrice registered = mock(RegisteredPrice.class);
+        lenient().when(registered.getCourseId()).thenReturn(courseId);
+        lenient().when(registered.getPrice()).thenReturn(price);
+        return registered;
+    }
+
+    private RegistrationRequest request(Long courseId, String email) {
+        RegistrationRequest request = new RegistrationRequest();
+        request.setCourseId(courseId);
+        request.setEmail(email);
+        return request;
     }
-}
\ No newline at end of file
+}
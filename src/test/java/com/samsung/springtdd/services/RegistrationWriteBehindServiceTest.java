@@ -0,0 +1,175 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.DTO.BatchRegistrationResult;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.RegistrationRequest;
+import com.samsung.springtdd.models.DTO.RegistrationTicket;
+import com.samsung.springtdd.services.cache.CourseCache;
+import com.samsung.springtdd.services.cache.StudentCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RegistrationWriteBehindServiceTest {
+
+    @Mock
+    private RegistrationService registrationService;
+
+    @Mock
+    private StudentCache studentCache;
+
+    @Mock
+    private CourseCache courseCache;
+
+    private RegistrationWriteBehindService writeBehindService;
+
+    @BeforeEach
+    void setup() {
+        // Workers are not started; tests drain the queue on the calling thread.
+        writeBehindService = new RegistrationWriteBehindService(registrationService, studentCache, courseCache,
+                true, 2, 1, 10, Duration.ofHours(1));
+    }
+
+    @Test
+    void shouldQueueAndPersistInOneBatch() {
+        givenValidStudentAndCourse();
+        when(registrationService.registerCourses(anyList())).thenReturn(List.of(
+                BatchRegistrationResult.registered(1L, "student1@example.com", 1000000L),
+                BatchRegistrationResult.failed(1L, "student1@example.com", "Course with ID 1 is full")));
+
+        RegistrationTicket first = writeBehindService.submit(1L, "student1@example.com");
+        RegistrationTicket second = writeBehindService.submit(1L, "student1@example.com");
+        assertEquals(RegistrationTicket.Status.PENDING, writeBehindService.getStatus(first.getTicket()).getStatus());
+
+        assertEquals(2, writeBehindService.drainOnce());
+
+        verify(registrationService, times(1)).registerCourses(argThat(requests -> requests.size() == 2));
+        assertEquals(RegistrationTicket.Status.REGISTERED, writeBehindService.getStatus(first.getTicket()).getStatus());
+        assertEquals(1000000L, writeBehindService.getStatus(first.getTicket()).getPrice());
+        RegistrationTicket failed = writeBehindService.getStatus(second.getTicket());
+        assertEquals(RegistrationTicket.Status.FAILED, failed.getStatus());
+        assertEquals("Course with ID 1 is full", failed.getMessage());
+    }
+
+    @Test
+    void shouldApplyBackPressureWhenQueueIsFull() {
+        givenValidStudentAndCourse();
+
+        writeBehindService.submit(1L, "student1@example.com");
+        writeBehindService.submit(1L, "student1@example.com");
+
+        assertThrows(RegistrationQueueFullException.class, () -> writeBehindService.submit(1L, "student1@example.com"));
+        assertEquals(2, writeBehindService.getQueueSize());
+    }
+
+    @Test
+    void shouldRejectUnknownStudentBeforeQueueing() {
+        when(studentCache.findStudentId("unknown@example.com")).thenReturn(Optional.empty());
+
+        StudentNotFoundException exception = assertThrows(StudentNotFoundException.class, () ->
+                writeBehindService.submit(1L, "unknown@example.com"));
+
+        assertEquals("Student with email unknown@example.com not found", exception.getMessage());
+        assertEquals(0, writeBehindService.getQueueSize());
+    }
+
+    @Test
+    void shouldMarkBatchFailedWhenPersistenceFails() {
+        givenValidStudentAndCourse();
+        when(registrationService.registerCourses(anyList())).thenThrow(new IllegalStateException("database down"));
+
+        RegistrationTicket ticket = writeBehindService.submit(1L, "student1@example.com");
+        writeBehindService.drainOnce();
+
+        assertEquals(RegistrationTicket.Status.FAILED, writeBehindService.getStatus(ticket.getTicket()).getStatus());
+    }
+
+    @Test
+    void shouldRetryFailedBatchInHalves() {
+        givenValidStudentAndCourse();
+        writeBehindService = new RegistrationWriteBehindService(registrationService, studentCache, courseCache,
+                true, 4, 1, 10, Duration.ofHours(1));
+        when(registrationService.registerCourses(anyList())).thenAnswer(invocation -> {
+            List<RegistrationRequest> requests = invocation.getArgument(0);
+            if (requests.size() > 1) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return List.of(BatchRegistrationResult.registered(1L, "student1@example.com", 1000000L));
+        });
+        List<RegistrationTicket> submitted = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            submitted.add(writeBehindService.submit(1L, "student1@example.com"));
+        }
+
+        writeBehindService.drainOnce();
+
+        for (RegistrationTicket ticket : submitted) {
+            assertEquals(RegistrationTicket.Status.REGISTERED, writeBehindService.getStatus(ticket.getTicket()).getStatus());
+        }
+        verify(registrationService, times(5)).registerCourses(anyList());
+    }
+
+    @Test
+    void shouldNotEvictTicketsOfBatchInFlight() {
+        givenValidStudentAndCourse();
+        // Room for 100 finished tickets; 150 finish while the first batch is still being persisted.
+        writeBehindService = new RegistrationWriteBehindService(registrationService, studentCache, courseCache,
+                true, 10, 1, 10, Duration.ofHours(1));
+        List<RegistrationTicket> first = new ArrayList<>();
+        List<RegistrationTicket.Status> seenInFlight = new ArrayList<>();
+        AtomicBoolean inFlight = new AtomicBoolean();
+        when(registrationService.registerCourses(anyList())).thenAnswer(invocation -> {
+            List<RegistrationRequest> requests = invocation.getArgument(0);
+            if (inFlight.compareAndSet(false, true)) {
+                for (int round = 0; round < 15; round++) {
+                    for (int i = 0; i < 10; i++) {
+                        writeBehindService.submit(1L, "student1@example.com");
+                    }
+                    writeBehindService.drainOnce();
+                }
+                for (RegistrationTicket ticket : first) {
+                    seenInFlight.add(writeBehindService.getStatus(ticket.getTicket()).getStatus());
+                }
+            }
+            return requests.stream()
+                    .map(request -> BatchRegistrationResult.registered(1L, request.getEmail(), 1000000L))
+                    .toList();
+        });
+        for (int i = 0; i < 10; i++) {
+            first.add(writeBehindService.submit(1L, "student1@example.com"));
+        }
+
+        writeBehindService.drainOnce();
+
+        assertEquals(Collections.nCopies(10, RegistrationTicket.Status.PENDING), seenInFlight);
+    }
+
+    @Test
+    void shouldThrowForUnknownTicket() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                writeBehindService.getStatus("missing"));
+
+        assertEquals("Ticket missing not found", exception.getMessage());
+    }
+
+    private void givenValidStudentAndCourse() {
+        when(studentCache.findStudentId("student1@example.com")).thenReturn(Optional.of(1L));
+        when(courseCache.find(1L)).thenReturn(Optional.of(new CourseSummary(1L, "Java Basics",
+                LocalDateTime.now().plusDays(30), LocalDateTime.now().plusDays(60), 1000000L)));
+    }
+}
@@ -0,0 +1,99 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers a single course from many threads and checks that exactly {@code capacity} seats were sold.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+public class SeatReservationStressTest {
+    private static final int CAPACITY = 50;
+    private static final int ATTEMPTS = 300;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @AfterEach
+    void cleanup() {
+        registrationRepository.deleteAll();
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    void shouldNeverOversellUnderConcurrentRegistrations() throws Exception {
+        Course course = courseRepository.save(Course.builder()
+                .name("Flash Sale")
+                .startTime(LocalDateTime.now().plusDays(30))
+                .endTime(LocalDateTime.now().plusDays(60))
+                .price(1000000L)
+                .capacity(CAPACITY)
+                .build());
+        for (int i = 0; i < ATTEMPTS; i++) {
+            studentRepository.save(Student.builder().email("rush" + i + "@example.com").build());
+        }
+
+        AtomicInteger registered = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            String email = "rush" + i + "@example.com";
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    registrationService.registerCourse(course.getId(), email);
+                    registered.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    assertEquals("Course with ID " + course.getId() + " is full", e.getMessage());
+                    soldOut.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(CAPACITY, registered.get());
+        assertEquals(ATTEMPTS - CAPACITY, soldOut.get());
+        assertEquals(CAPACITY, courseRepository.findById(course.getId()).orElseThrow().getSeatsTaken());
+        assertEquals(CAPACITY, registrationRepository.count());
+    }
+}
@@ -0,0 +1,299 @@
+package com.samsung.springtdd.services;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.WaitlistPosition;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.WaitlistEntry;
+import com.samsung.springtdd.models.repository.CourseDailyStatsRepository;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import com.samsung.springtdd.models.repository.WaitlistRepository;
+import com.samsung.springtdd.support.RegistrationServices;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Waitlist join/leave/position and promotion on unregister, against the real JPA mapping. Events are
+ * delivered straight to the in-memory views, as the after-commit listeners would.
+ */
+@DataJpaTest
+public class WaitlistServiceTest {
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private CourseDailyStatsRepository courseDailyStatsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private WaitlistService waitlistService;
+    private RegistrationService registrationService;
+    private Course fullCourse;
+
+    @BeforeEach
+    void setup() {
+        RegistrationServices services = RegistrationServices.deliveringEvents(courseRepository, studentRepository,
+                registrationRepository, waitlistRepository, courseDailyStatsRepository);
+        waitlistService = services.waitlistService();
+        registrationService = services.registrationService();
+
+        fullCourse = courseRepository.save(Course.builder()
+                .name("Popular course")
+                .startTime(LocalDateTime.now().plusDays(10))
+                .endTime(LocalDateTime.now().plusDays(40))
+                .price(1000000L)
+                .capacity(1)
+                .build());
+        for (String email : List.of("seated@example.com", "first@example.com", "second@example.com", "third@example.com")) {
+            studentRepository.save(Student.builder().email(email).build());
+        }
+        registrationService.registerCourse(fullCourse.getId(), "seated@example.com");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldQueueStudentsInJoinOrder() {
+        WaitlistPosition first = waitlistService.join(fullCourse.getId(), "first@example.com");
+        WaitlistPosition second = waitlistService.join(fullCourse.getId(), "second@example.com");
+
+        assertEquals(1, first.getPosition());
+        assertEquals(2, second.getPosition());
+        assertEquals(2, second.getWaiting());
+        assertEquals(2, waitlistService.getPosition(fullCourse.getId(), "SECOND@example.com").getPosition());
+    }
+
+    @Test
+    void shouldRejectJoiningTwiceOrWhileRegistered() {
+        waitlistService.join(fullCourse.getId(), "first@example.com");
+
+        assertThrows(IllegalStateException.class, () -> waitlistService.join(fullCourse.getId(), "first@example.com"));
+        assertThrows(IllegalStateException.class, () -> waitlistService.join(fullCourse.getId(), "seated@example.com"));
+    }
+
+    @Test
+    void shouldRejectJoiningCourseWithFreeSeats() {
+        Course open = courseRepository.save(Course.builder()
+                .name("Open course")
+                .startTime(LocalDateTime.now().plusDays(10))
+                .endTime(LocalDateTime.now().plusDays(40))
+                .price(1000000L)
+                .capacity(10)
+                .build());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> waitlistService.join(open.getId(), "first@example.com"));
+        assertEquals("Course with ID " + open.getId() + " has free seats, register instead", exception.getMessage());
+    }
+
+    @Test
+    void shouldMoveEveryoneUpWhenSomeoneLeaves() {
+        waitlistService.join(fullCourse.getId(), "first@example.com");
+        waitlistService.join(fullCourse.getId(), "second@example.com");
+
+        waitlistService.leave(fullCourse.getId(), "first@example.com");
+
+        assertEquals(1, waitlistService.getPosition(fullCourse.getId(), "second@example.com").getPosition());
+        assertThrows(IllegalArgumentException.class,
+                () -> waitlistService.getPosition(fullCourse.getId(), "first@example.com"));
+        assertThrows(IllegalArgumentException.class,
+                () -> waitlistService.leave(fullCourse.getId(), "first@example.com"));
+    }
+
+    @Test
+    void shouldHandFreedSeatToFirstStudentWaiting() {
+        waitlistService.join(fullCourse.getId(), "first@example.com");
+        waitlistService.join(fullCourse.getId(), "second@example.com");
+
+        registrationService.unregisterCourse(fullCourse.getId(), "seated@example.com");
+        entityManager.flush();
+        entityManager.clear();
+
+        List<CourseSummary> promoted = registrationService.getRegisteredCourses("first@example.com");
+        assertEquals(List.of(fullCourse.getId()), promoted.stream().map(CourseSummary::getId).toList());
+        assertEquals(1, courseRepository.findById(fullCourse.getId()).orElseThrow().getSeatsTaken());
+        assertEquals(1, waitlistService.getPosition(fullCourse.getId(), "second@example.com").getPosition());
+    }
+
+    @Test
+    void shouldPricePromotionLikeAnyOtherRegistration() {
+        Student loyal = studentRepository.findByEmail("first@example.com");
+        for (int i = 0; i < 2; i++) {
+            Course other = courseRepository.save(Course.builder()
+                    .name("Other " + i)
+                    .startTime(LocalDateTime.now().plusDays(60))
+                    .endTime(LocalDateTime.now().plusDays(90))
+                    .price(1000000L)
+                    .build());
+            registrationRepository.save(Registration.builder()
+                    .student(loyal).course(other).price(other.getPrice()).registeredDate(LocalDateTime.now()).build());
+        }
+        waitlistService.join(fullCourse.getId(), "first@example.com");
+
+        registrationService.unregisterCourse(fullCourse.getId(), "seated@example.com");
+        entityManager.flush();
+
+        Registration registration = registrationRepository.findByStudent(loyal).stream()
+                .filter(r -> r.getCourse().getId().equals(fullCourse.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(750000L, registration.getPrice());
+    }
+
+    @Test
+    void shouldReleaseSeatWhenNobodyIsWaiting() {
+        registrationService.unregisterCourse(fullCourse.getId(), "seated@example.com");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(0, courseRepository.findById(fullCourse.getId()).orElseThrow().getSeatsTaken());
+    }
+
+    @Test
+    void shouldSkipStudentsWhoLeftOrRegisteredWhileWaiting() {
+        waitlistService.join(fullCourse.getId(), "first@example.com");
+        waitlistService.join(fullCourse.getId(), "second@example.com");
+        waitlistService.join(fullCourse.getId(), "third@example.com");
+        // Warm the queue, then change the table behind its back: first leaves, second gets in directly.
+        waitlistService.getPosition(fullCourse.getId(), "first@example.com");
+        Student first = studentRepository.findByEmail("first@example.com");
+        Student second = studentRepository.findByEmail("second@example.com");
+        waitlistRepository.deleteByStudentIdAndCourseId(first.getId(), fullCourse.getId());
+        registrationRepository.save(Registration.builder()
+                .student(second).course(courseRepository.getReferenceById(fullCourse.getId()))
+                .price(1000000L).registeredDate(LocalDateTime.now()).build());
+        entityManager.flush();
+
+        registrationService.unregisterCourse(fullCourse.getId(), "seated@example.com");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, registrationService.getRegisteredCourses("third@example.com").size());
+        assertEquals(0, waitlistRepository.count());
+    }
+
+    @Test
+    void shouldSkipStudentsWhoRegisteredForOverlappingCourseWhileWaiting() {
+        waitlistService.join(fullCourse.getId(), "first@example.com");
+        waitlistService.join(fullCourse.getId(), "second@example.com");
+        Course overlapping = courseRepository.save(Course.builder()
+                .name("Overlapping course")
+                .startTime(fullCourse.getStartTime().plusDays(5))
+                .endTime(fullCourse.getEndTime().plusDays(5))
+                .price(1000000L)
+                .build());
+        registrationService.registerCourse(overlapping.getId(), "first@example.com");
+
+        registrationService.unregisterCourse(fullCourse.getId(), "seated@example.com");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(overlapping.getId()),
+                registrationService.getRegisteredCourses("first@example.com").stream().map(CourseSummary::getId).toList());
+        assertEquals(List.of(fullCourse.getId()),
+                registrationService.getRegisteredCourses("second@example.com").stream().map(CourseSummary::getId).toList());
+        assertEquals(0, waitlistRepository.count());
+    }
+
+    @Test
+    void shouldNotPromoteStudentIntoTwoOverlappingCoursesAtOnce() {
+        // Seats held before overlaps were rejected: one student frees two overlapping courses in one call.
+        Course overlapping = courseRepository.save(Course.builder()
+                .name("Overlapping popular course")
+                .startTime(fullCourse.getStartTime().plusDays(5))
+                .endTime(fullCourse.getEndTime().plusDays(5))
+                .price(1000000L)
+                .capacity(1)
+                .seatsTaken(1)
+                .build());
+        registrationRepository.save(Registration.builder()
+                .student(studentRepository.findByEmail("seated@example.com"))
+                .course(overlapping).price(1000000L).registeredDate(LocalDateTime.now()).build());
+        waitlistService.join(fullCourse.getId(), "first@example.com");
+        waitlistService.join(overlapping.getId(), "first@example.com");
+        waitlistService.join(fullCourse.getId(), "second@example.com");
+        waitlistService.join(overlapping.getId(), "third@example.com");
+
+        registrationService.unregisterCourses("seated@example.com", List.of(fullCourse.getId(), overlapping.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, registrationService.getRegisteredCourses("first@example.com").size());
+        assertEquals(1, registrationService.getRegisteredCourses("second@example.com").size()
+                + registrationService.getRegisteredCourses("third@example.com").size());
+        assertEquals(1, courseRepository.findById(fullCourse.getId()).orElseThrow().getSeatsTaken());
+        assertEquals(1, courseRepository.findById(overlapping.getId()).orElseThrow().getSeatsTaken());
+    }
+
+    @Test
+    void shouldPromoteOnBulkUnregister() {
+        waitlistService.join(fullCourse.getId(), "first@example.com");
+
+        int deleted = registrationService.unregisterCourses("seated@example.com", List.of(fullCourse.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, deleted);
+        assertEquals(1, registrationService.getRegisteredCourses("first@example.com").size());
+        assertEquals(1, courseRepository.findById(fullCourse.getId()).orElseThrow().getSeatsTaken());
+    }
+
+    @Test
+    void shouldPromoteStudentWhoJoinedAfterQueueWasCachedEmpty() {
+        // Cache the empty queue, then add an entry without an event, as a join on another instance would.
+        assertThrows(IllegalArgumentException.class,
+                () -> waitlistService.getPosition(fullCourse.getId(), "first@example.com"));
+        waitlistRepository.save(WaitlistEntry.builder()
+                .student(studentRepository.findByEmail("first@example.com"))
+                .course(courseRepository.getReferenceById(fullCourse.getId()))
+                .joinedAt(LocalDateTime.now())
+                .build());
+        entityManager.flush();
+
+        registrationService.unregisterCourse(fullCourse.getId(), "seated@example.com");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, registrationService.getRegisteredCourses("first@example.com").size());
+        assertEquals(1, courseRepository.findById(fullCourse.getId()).orElseThrow().getSeatsTaken());
+        assertEquals(0, waitlistRepository.count());
+    }
+
+    @Test
+    void shouldEmptyWaitlistWhenAllRegistrationsAreDropped() {
+        waitlistService.join(fullCourse.getId(), "first@example.com");
+        waitlistService.join(fullCourse.getId(), "second@example.com");
+
+        int deleted = registrationService.unregisterAll(fullCourse.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, deleted);
+        assertEquals(0, waitlistRepository.count());
+        assertThrows(IllegalArgumentException.class,
+                () -> waitlistService.getPosition(fullCourse.getId(), "first@example.com"));
+        assertTrue(registrationService.getRegisteredCourses("first@example.com").isEmpty());
+        assertEquals(0, courseRepository.findById(fullCourse.getId()).orElseThrow().getSeatsTaken());
+    }
+}
@@ -0,0 +1,126 @@
+package com.samsung.springtdd.services.archiving;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.DTO.StudentRegistrationCount;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.ArchivedRegistrationRepository;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class RegistrationArchiverTest {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private ArchivedRegistrationRepository archivedRegistrationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private RegistrationArchiver registrationArchiver;
+    private Student alice;
+    private Student bob;
+    private Course future;
+
+    @BeforeEach
+    void setup() {
+        registrationArchiver = new RegistrationArchiver(registrationRepository, archivedRegistrationRepository,
+                transactionManager, 1);
+
+        LocalDateTime now = LocalDateTime.now();
+        Course ended = courseRepository.save(course("Ended", now.minusDays(60), now.minusDays(30)));
+        Course running = courseRepository.save(course("Running", now.minusDays(1), now.plusDays(1)));
+        future = courseRepository.save(course("Future", now.plusDays(30), now.plusDays(60)));
+        alice = studentRepository.save(Student.builder().email("alice@example.com").build());
+        bob = studentRepository.save(Student.builder().email("bob@example.com").build());
+        registrationRepository.save(registration(alice, ended));
+        registrationRepository.save(registration(alice, running));
+        registrationRepository.save(registration(alice, future));
+        registrationRepository.save(registration(bob, ended));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldMoveRegistrationsOfEndedCoursesInBatches() {
+        long archived = registrationArchiver.archiveEnded(LocalDateTime.now());
+        entityManager.clear();
+
+        assertEquals(2, archived);
+        assertEquals(2, registrationRepository.count());
+        assertEquals(2, archivedRegistrationRepository.count());
+        assertTrue(archivedRegistrationRepository.findAll().stream()
+                .allMatch(a -> a.getCourse().getName().equals("Ended") && a.getArchivedDate() != null));
+        assertEquals(0, registrationArchiver.archiveEnded(LocalDateTime.now()));
+    }
+
+    @Test
+    void shouldKeepRegistrationCountsForTheDiscount() {
+        registrationArchiver.archiveEnded(LocalDateTime.now());
+
+        assertEquals(3, registrationRepository.countByStudentId(alice.getId()));
+        assertEquals(1, registrationRepository.countByStudentId(bob.getId()));
+        Map<Long, Long> counts = new HashMap<>();
+        for (StudentRegistrationCount count : registrationRepository.countByStudentIds(List.of(alice.getId(), bob.getId()))) {
+            counts.put(count.getStudentId(), count.getRegistrationCount());
+        }
+        assertEquals(Map.of(alice.getId(), 3L, bob.getId(), 1L), counts);
+    }
+
+    @Test
+    void shouldLeaveCurrentCoursesInPlace() {
+        registrationArchiver.archiveEnded(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(List.of(future.getId()), registrationRepository.findFutureCoursesByStudentId(alice.getId(), now)
+                .stream()
+                .map(CourseSummary::getId)
+                .toList());
+        assertEquals(2, registrationRepository.findSchedules(List.of(alice.getId()), now).size());
+    }
+
+    private static Course course(String name, LocalDateTime start, LocalDateTime end) {
+        return Course.builder()
+                .name(name)
+                .startTime(start)
+                .endTime(end)
+                .price(1000000L)
+                .build();
+    }
+
+    private static Registration registration(Student student, Course course) {
+        return Registration.builder()
+                .student(student)
+                .course(course)
+                .price(course.getPrice())
+                .registeredDate(LocalDateTime.now().minusDays(90))
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.samsung.springtdd.services.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Loads run outside Caffeine's compute lock, so a slow query (e.g. one waiting for a pooled
+ * connection) never blocks other callers of the cache on the same key. Maintenance runs on the
+ * calling thread, so expiries are counted by the time the call that found them returns.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CacheConcurrencyTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        loader.shutdownNow();
+    }
+
+    @Test
+    void courseInvalidationShouldNotWaitForLoadInProgress() throws Exception {
+        CourseCache courseCache = new CourseCache(courseRepository, 100, Duration.ofMinutes(10), nanos::get);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(courseRepository.findById(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return Optional.of(course());
+        });
+
+        CompletableFuture<?> load = CompletableFuture.runAsync(() -> courseCache.find(1L), loader);
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        try {
+            CompletableFuture.runAsync(() -> courseCache.invalidate(1L)).get(1, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+        }
+        load.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void studentInvalidationShouldNotWaitForLoadInProgress() throws Exception {
+        StudentCache studentCache = new StudentCache(studentRepository, 100, Duration.ofMinutes(10),
+                Duration.ofSeconds(30), nanos::get);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(studentRepository.findIdByEmail("student1@example.com")).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return 1L;
+        });
+
+        CompletableFuture<?> load = CompletableFuture.runAsync(
+                () -> studentCache.findStudentId("student1@example.com"), loader);
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        try {
+            CompletableFuture.runAsync(() -> studentCache.invalidate("student1@example.com"))
+                    .get(1, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+        }
+        load.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldCountEveryExpiredEntryReplacedByReload() {
+        CourseCache courseCache = new CourseCache(courseRepository, 1000, Duration.ofMinutes(10), nanos::get);
+        when(courseRepository.findById(anyLong())).thenReturn(Optional.of(course()));
+
+        for (long id = 1; id <= 200; id++) {
+            courseCache.find(id);
+        }
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        for (long id = 1; id <= 200; id++) {
+            courseCache.find(id);
+        }
+
+        assertEquals(200, courseCache.statistics().getEvictionCount());
+        assertEquals(200, courseCache.statistics().getSize());
+    }
+
+    private Course course() {
+        return Course.builder()
+                .id(1L)
+                .name("Java Basics")
+                .startTime(LocalDateTime.now().plusDays(30))
+                .endTime(LocalDateTime.now().plusDays(60))
+                .price(1000000L)
+                .build();
+    }
+}
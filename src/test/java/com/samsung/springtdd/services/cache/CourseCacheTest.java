@@ -0,0 +1,135 @@
+package com.samsung.springtdd.services.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CacheStatistics;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.services.CourseChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseCacheTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private CourseCache courseCache;
+    private Course course;
+
+    @BeforeEach
+    void setup() {
+        Ticker ticker = nanos::get;
+        courseCache = new CourseCache(courseRepository, 100, Duration.ofMinutes(10), ticker);
+        course = Course.builder()
+                .id(1L)
+                .name("Java Basics")
+                .startTime(LocalDateTime.now().plusDays(30))
+                .endTime(LocalDateTime.now().plusDays(60))
+                .price(1000000L)
+                .build();
+    }
+
+    @Test
+    void shouldLoadOnceAndServeHitsFromMemory() {
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+
+        Optional<CourseSummary> first = courseCache.find(1L);
+        Optional<CourseSummary> second = courseCache.find(1L);
+
+        assertEquals("Java Basics", first.orElseThrow().getName());
+        assertSame(first.get(), second.orElseThrow());
+        verify(courseRepository, times(1)).findById(1L);
+        CacheStatistics statistics = courseCache.statistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+    }
+
+    @Test
+    void shouldNotCacheUnknownCourses() {
+        when(courseRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertTrue(courseCache.find(999L).isEmpty());
+        assertTrue(courseCache.find(999L).isEmpty());
+
+        verify(courseRepository, times(2)).findById(999L);
+    }
+
+    @Test
+    void shouldReloadAfterCourseChanged() {
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+
+        courseCache.find(1L);
+        courseCache.onCourseChanged(new CourseChangedEvent(1L));
+        courseCache.find(1L);
+
+        verify(courseRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldExpireEntriesAfterWriteTimeout() {
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+
+        courseCache.find(1L);
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        courseCache.find(1L);
+
+        verify(courseRepository, times(2)).findById(1L);
+        assertEquals(1, courseCache.statistics().getEvictionCount());
+    }
+
+    @Test
+    void shouldLoadAllMissesWithOneQuery() {
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        courseCache.find(1L);
+        Course other = Course.builder().id(2L).name("Spring Boot").startTime(course.getStartTime()).build();
+        when(courseRepository.findAllById(Set.of(2L, 3L))).thenReturn(List.of(other));
+
+        Map<Long, CourseSummary> found = courseCache.findAll(List.of(1L, 2L, 3L));
+
+        assertEquals(Set.of(1L, 2L), found.keySet());
+        verify(courseRepository, times(1)).findAllById(Set.of(2L, 3L));
+    }
+
+    @Test
+    void shouldNotKeepRowLoadedWhileCourseChanged() {
+        when(courseRepository.findById(1L)).thenAnswer(invocation -> {
+            courseCache.onCourseChanged(new CourseChangedEvent(1L));
+            return Optional.of(course);
+        });
+
+        courseCache.find(1L);
+        courseCache.find(1L);
+
+        verify(courseRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldNotKeepBulkLoadOverlappingInvalidation() {
+        when(courseRepository.findAllById(Set.of(1L))).thenAnswer(invocation -> {
+            courseCache.invalidateAll();
+            return List.of(course);
+        });
+
+        assertEquals(Set.of(1L), courseCache.findAll(List.of(1L)).keySet());
+        courseCache.findAll(List.of(1L));
+
+        verify(courseRepository, times(2)).findAllById(Set.of(1L));
+    }
+}
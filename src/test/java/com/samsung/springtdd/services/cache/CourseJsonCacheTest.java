@@ -0,0 +1,69 @@
+package com.samsung.springtdd.services.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samsung.springtdd.models.DTO.CacheStatistics;
+import com.samsung.springtdd.models.DTO.CoursePage;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.services.CourseChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CourseJsonCacheTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final CourseJsonCache courseJsonCache = new CourseJsonCache(objectMapper, 100);
+
+    private final CourseSummary javaBasics = new CourseSummary(1L, "Java \"Basics\"",
+            LocalDateTime.of(2030, 4, 1, 9, 0), LocalDateTime.of(2030, 4, 30, 17, 0), 1000000L);
+    private final CourseSummary springBoot = new CourseSummary(2L, "Spring Boot",
+            LocalDateTime.of(2030, 5, 1, 9, 0), LocalDateTime.of(2030, 5, 31, 17, 0), 1500000L);
+
+    @Test
+    void shouldSpliceSameJsonAsJackson() throws Exception {
+        List<CourseSummary> courses = List.of(javaBasics, springBoot);
+
+        assertEquals(objectMapper.writeValueAsString(courses), json(courseJsonCache.toJsonArray(courses)));
+        assertEquals("[]", json(courseJsonCache.toJsonArray(List.of())));
+        CoursePage page = new CoursePage(courses, "abc");
+        assertEquals(objectMapper.writeValueAsString(page), json(courseJsonCache.toJson(page)));
+        CoursePage lastPage = new CoursePage(List.of(springBoot), null);
+        assertEquals(objectMapper.writeValueAsString(lastPage), json(courseJsonCache.toJson(lastPage)));
+    }
+
+    @Test
+    void shouldSerializeEachCourseOnce() {
+        courseJsonCache.toJsonArray(List.of(javaBasics, springBoot));
+        courseJsonCache.toJsonArray(List.of(springBoot, javaBasics));
+
+        CacheStatistics statistics = courseJsonCache.statistics();
+        assertEquals(2, statistics.getMissCount());
+        assertEquals(2, statistics.getHitCount());
+    }
+
+    @Test
+    void shouldNotServeJsonForOutdatedCourseData() {
+        courseJsonCache.toJsonArray(List.of(javaBasics));
+        CourseSummary renamed = new CourseSummary(1L, "Java Fundamentals",
+                javaBasics.getStartTime(), javaBasics.getEndTime(), javaBasics.getPrice());
+
+        assertTrue(json(courseJsonCache.toJsonArray(List.of(renamed))).contains("Java Fundamentals"));
+    }
+
+    @Test
+    void shouldDropEntryWhenCourseChanges() {
+        courseJsonCache.toJsonArray(List.of(javaBasics));
+
+        courseJsonCache.onCourseChanged(new CourseChangedEvent(1L));
+
+        assertEquals(0, courseJsonCache.statistics().getSize());
+    }
+
+    private static String json(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
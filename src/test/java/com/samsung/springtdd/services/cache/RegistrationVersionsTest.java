@@ -0,0 +1,90 @@
+package com.samsung.springtdd.services.cache;
+
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.services.CourseChangedEvent;
+import com.samsung.springtdd.services.RegistrationChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistrationVersionsTest {
+    private final RegistrationVersions versions = new RegistrationVersions(true, 100, Duration.ofMinutes(1));
+
+    @Test
+    void shouldKeepTagUntilStudentsRegistrationsChange() {
+        String tag = serve("a@example.com", List.of(course(30)));
+
+        assertEquals(tag, versions.currentTag("A@example.com "));
+        versions.onRegistrationChanged(new RegistrationChangedEvent("b@example.com"));
+        assertEquals(tag, versions.currentTag("a@example.com"));
+
+        versions.onRegistrationChanged(new RegistrationChangedEvent("a@example.com"));
+        assertNull(versions.currentTag("a@example.com"));
+        assertNotEquals(tag, serve("a@example.com", List.of(course(30))));
+    }
+
+    @Test
+    void shouldDropAllTagsWhenRosterOrCourseChanges() {
+        serve("a@example.com", List.of(course(30)));
+        serve("b@example.com", List.of());
+        versions.onRegistrationChanged(new RegistrationChangedEvent(null));
+        assertNull(versions.currentTag("a@example.com"));
+        assertNull(versions.currentTag("b@example.com"));
+
+        serve("a@example.com", List.of(course(30)));
+        versions.onCourseChanged(new CourseChangedEvent(1L));
+        assertNull(versions.currentTag("a@example.com"));
+    }
+
+    @Test
+    void shouldExpireTagOnceEarliestCourseStarts() {
+        serve("a@example.com", List.of(course(30), course(-1)));
+
+        assertNull(versions.currentTag("a@example.com"));
+    }
+
+    @Test
+    void shouldNotRecordTagWhenChangedWhileReading() {
+        long version = versions.begin("a@example.com");
+        versions.invalidate("a@example.com");
+        versions.record("a@example.com", version, List.of(course(30)));
+
+        assertNull(versions.currentTag("a@example.com"));
+    }
+
+    @Test
+    void shouldExpireTagAfterWriteTimeout() {
+        AtomicLong nanos = new AtomicLong();
+        RegistrationVersions expiring = new RegistrationVersions(true, 100, Duration.ofSeconds(5), nanos::get);
+        String tag = expiring.record("a@example.com", expiring.begin("a@example.com"), List.of(course(30)));
+
+        nanos.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertEquals(tag, expiring.currentTag("a@example.com"));
+
+        nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertNull(expiring.currentTag("a@example.com"));
+        assertNotEquals(tag, expiring.record("a@example.com", expiring.begin("a@example.com"), List.of(course(30))));
+    }
+
+    @Test
+    void shouldHandOutNoTagsWhenDisabled() {
+        RegistrationVersions disabled = new RegistrationVersions(false, 100, Duration.ofMinutes(1));
+
+        assertNull(disabled.record("a@example.com", disabled.begin("a@example.com"), List.of(course(30))));
+        assertNull(disabled.currentTag("a@example.com"));
+    }
+
+    private String serve(String email, List<CourseSummary> courses) {
+        return versions.record(email, versions.begin(email), courses);
+    }
+
+    private static CourseSummary course(int startsInDays) {
+        LocalDateTime start = LocalDateTime.now().plusDays(startsInDays);
+        return new CourseSummary(1L, "Java Basics", start, start.plusDays(30), 1000000L);
+    }
+}
@@ -0,0 +1,88 @@
+package com.samsung.springtdd.services.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StudentCacheTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private StudentCache studentCache;
+
+    @BeforeEach
+    void setup() {
+        Ticker ticker = nanos::get;
+        studentCache = new StudentCache(studentRepository, 100, Duration.ofMinutes(10), Duration.ofSeconds(30), ticker);
+    }
+
+    @Test
+    void shouldNormalizeEmailsBeforeLookup() {
+        when(studentRepository.findIdByEmail("student1@example.com")).thenReturn(1L);
+
+        assertEquals(Optional.of(1L), studentCache.findStudentId("  Student1@Example.COM "));
+        assertEquals(Optional.of(1L), studentCache.findStudentId("student1@example.com"));
+
+        verify(studentRepository, times(1)).findIdByEmail("student1@example.com");
+    }
+
+    @Test
+    void shouldCacheUnknownEmailsForNegativeTtl() {
+        when(studentRepository.findIdByEmail("unknown@example.com")).thenReturn(null);
+
+        assertTrue(studentCache.findStudentId("unknown@example.com").isEmpty());
+        nanos.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertTrue(studentCache.findStudentId("unknown@example.com").isEmpty());
+        verify(studentRepository, times(1)).findIdByEmail("unknown@example.com");
+
+        nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertTrue(studentCache.findStudentId("unknown@example.com").isEmpty());
+        verify(studentRepository, times(2)).findIdByEmail("unknown@example.com");
+    }
+
+    @Test
+    void shouldKeepKnownStudentsForPositiveTtl() {
+        when(studentRepository.findIdByEmail("student1@example.com")).thenReturn(1L);
+
+        studentCache.findStudentId("student1@example.com");
+        nanos.addAndGet(Duration.ofMinutes(5).toNanos());
+        studentCache.findStudentId("student1@example.com");
+
+        verify(studentRepository, times(1)).findIdByEmail("student1@example.com");
+        assertEquals(1, studentCache.statistics().getHitCount());
+    }
+
+    @Test
+    void shouldSkipDatabaseForBlankEmail() {
+        assertTrue(studentCache.findStudentId("   ").isEmpty());
+        assertTrue(studentCache.findStudentId(null).isEmpty());
+
+        verify(studentRepository, never()).findIdByEmail(anyString());
+    }
+
+    @Test
+    void shouldNotKeepMissLoadedWhileStudentWasCreated() {
+        when(studentRepository.findIdByEmail("new@example.com")).thenAnswer(invocation -> {
+            studentCache.invalidate("new@example.com");
+            return null;
+        }).thenReturn(1L);
+
+        assertTrue(studentCache.findStudentId("new@example.com").isEmpty());
+        assertEquals(Optional.of(1L), studentCache.findStudentId("new@example.com"));
+    }
+}
@@ -0,0 +1,136 @@
+package com.samsung.springtdd.services.cache;
+
+import com.samsung.springtdd.models.DTO.ScheduledCourse;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.services.RegistrationChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+public class StudentSchedulesTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    @Test
+    void shouldFindCourseOverlappingRequestedInterval() {
+        StudentSchedules.Schedule schedule = StudentSchedules.Schedule.of(List.of(
+                course(1L, 0, 10),
+                course(2L, 20, 30),
+                course(3L, 40, 50)));
+
+        assertEquals(2L, schedule.findConflict(at(25), at(35)));
+        assertEquals(1L, schedule.findConflict(at(-5), at(1)));
+        assertEquals(3L, schedule.findConflict(at(15), at(45)));
+        assertNull(schedule.findConflict(at(10), at(20)));
+        assertNull(schedule.findConflict(at(50), at(60)));
+        assertNull(schedule.findConflict(at(-10), at(0)));
+    }
+
+    @Test
+    void shouldSeeLongCourseHiddenBehindLaterStarts() {
+        // Course 1 started first but outlasts the courses that start after it.
+        StudentSchedules.Schedule schedule = StudentSchedules.Schedule.of(List.of(
+                course(1L, 0, 100),
+                course(2L, 10, 20),
+                course(3L, 30, 40)));
+
+        assertEquals(1L, schedule.findConflict(at(60), at(70)));
+    }
+
+    @Test
+    void shouldStayCorrectOnLargeRandomSchedules() {
+        java.util.Random random = new java.util.Random(7);
+        List<ScheduledCourse> courses = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            int start = random.nextInt(10000);
+            courses.add(course(id, start, start + 1 + random.nextInt(30)));
+        }
+        StudentSchedules.Schedule schedule = StudentSchedules.Schedule.of(courses);
+
+        for (int i = 0; i < 2000; i++) {
+            int start = random.nextInt(10000);
+            int end = start + 1 + random.nextInt(30);
+            boolean overlaps = courses.stream().anyMatch(c ->
+                    c.getStartTime().isBefore(at(end)) && c.getEndTime().isAfter(at(start)));
+            Long conflict = schedule.findConflict(at(start), at(end));
+            assertEquals(overlaps, conflict != null, "interval " + start + ".." + end);
+            if (conflict != null) {
+                ScheduledCourse found = courses.get((int) (conflict - 1));
+                assertTrue(found.getStartTime().isBefore(at(end)) && found.getEndTime().isAfter(at(start)));
+            }
+        }
+    }
+
+    @Test
+    void shouldLoadMissesInOneQueryAndDropStudentOnChange() {
+        RegistrationRepository registrationRepository = mock(RegistrationRepository.class);
+        ScheduledCourse held = course(1L, 0, 10);
+        when(held.getStudentId()).thenReturn(7L);
+        when(registrationRepository.findSchedules(anyCollection(), any())).thenReturn(List.of(held));
+        StudentSchedules schedules = new StudentSchedules(registrationRepository, 100, Duration.ofMinutes(1));
+
+        Map<String, StudentSchedules.Schedule> loaded = schedules.getAll(Map.of("a@example.com", 7L, "b@example.com", 8L));
+        assertTrue(loaded.get("a@example.com").contains(1L));
+        assertEquals(0, loaded.get("b@example.com").size());
+        schedules.get("A@example.com", 7L);
+        verify(registrationRepository, times(1)).findSchedules(anyCollection(), any());
+
+        schedules.onRegistrationChanged(new RegistrationChangedEvent("a@example.com"));
+        schedules.get("a@example.com", 7L);
+        schedules.get("b@example.com", 8L);
+        verify(registrationRepository, times(2)).findSchedules(anyCollection(), any());
+    }
+
+    @Test
+    void shouldReadCurrentScheduleThroughTheCache() {
+        RegistrationRepository registrationRepository = mock(RegistrationRepository.class);
+        ScheduledCourse held = course(1L, 0, 10);
+        when(held.getStudentId()).thenReturn(7L);
+        when(registrationRepository.findSchedules(anyCollection(), any())).thenReturn(List.of(), List.of(held));
+        StudentSchedules schedules = new StudentSchedules(registrationRepository, 100, Duration.ofMinutes(1));
+
+        assertFalse(schedules.get("a@example.com", 7L).contains(1L));
+        // A registration committed without its event reaching this cache yet.
+        assertTrue(schedules.getCurrent("a@example.com", 7L).contains(1L));
+        assertTrue(schedules.get("a@example.com", 7L).contains(1L));
+        verify(registrationRepository, times(2)).findSchedules(anyCollection(), any());
+    }
+
+    @Test
+    void shouldExpireSchedulesAfterWriteTimeout() {
+        RegistrationRepository registrationRepository = mock(RegistrationRepository.class);
+        when(registrationRepository.findSchedules(anyCollection(), any())).thenReturn(List.of());
+        AtomicLong nanos = new AtomicLong();
+        StudentSchedules schedules = new StudentSchedules(registrationRepository, 100, Duration.ofMinutes(1), nanos::get);
+
+        schedules.get("a@example.com", 7L);
+        nanos.addAndGet(Duration.ofSeconds(59).toNanos());
+        schedules.get("a@example.com", 7L);
+        verify(registrationRepository, times(1)).findSchedules(anyCollection(), any());
+
+        nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+        schedules.get("a@example.com", 7L);
+        verify(registrationRepository, times(2)).findSchedules(anyCollection(), any());
+    }
+
+    private static ScheduledCourse course(Long id, int startHour, int endHour) {
+        ScheduledCourse course = mock(ScheduledCourse.class);
+        lenient().when(course.getCourseId()).thenReturn(id);
+        lenient().when(course.getStartTime()).thenReturn(at(startHour));
+        lenient().when(course.getEndTime()).thenReturn(at(endHour));
+        return course;
+    }
+
+    private static LocalDateTime at(int hour) {
+        return BASE.plusHours(hour);
+    }
+}
@@ -0,0 +1,168 @@
+package com.samsung.springtdd.services.importing;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.ImportReport;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import com.samsung.springtdd.services.cache.StudentCache;
+import com.samsung.springtdd.services.search.CourseSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs imports against the embedded database with a tiny chunk size, so every test crosses chunk
+ * boundaries and each chunk commits on its own.
+ */
+@SpringBootTest(properties = "bulk-import.batch-size=2")
+@AutoConfigureTestDatabase
+public class BulkImportServiceTest {
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentCache studentCache;
+
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    @AfterEach
+    void cleanup() {
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    void shouldUpsertStudentsByNormalizedEmail() {
+        studentRepository.save(Student.builder().email("existing@example.com").firstName("Old").build());
+        assertTrue(studentCache.findStudentId("new1@example.com").isEmpty());
+
+        ImportReport report = bulkImportService.importStudents("students-1", csv(
+                "email,first_name,last_name",
+                "New1@Example.com,Ada,Lovelace",
+                "existing@example.com,Grace,Hopper",
+                "new2@example.com,,",
+                "new1@example.com,Ada,King"));
+
+        assertEquals(ImportReport.Status.COMPLETED, report.getStatus());
+        assertEquals(4, report.getRowsRead());
+        assertEquals(2, report.getInserted());
+        assertEquals(2, report.getUpdated());
+        assertEquals(0, report.getFailed());
+        assertEquals("Grace", studentRepository.findByEmail("existing@example.com").getFirstName());
+        assertEquals("King", studentRepository.findByEmail("new1@example.com").getLastName());
+        assertEquals(3, studentRepository.count());
+        assertTrue(studentCache.findStudentId("new1@example.com").isPresent(), "cached miss must be dropped");
+    }
+
+    @Test
+    void shouldUpdateStudentStoredWithMixedCaseEmail() {
+        studentRepository.save(Student.builder().email("Alice@X.com").firstName("Old").build());
+
+        ImportReport report = bulkImportService.importStudents(null, csv(
+                "email,first_name,last_name",
+                "alice@x.com,Alice,Liddell"));
+
+        assertEquals(0, report.getInserted());
+        assertEquals(1, report.getUpdated());
+        assertEquals(0, report.getFailed());
+        assertEquals(1, studentRepository.count());
+        assertEquals("Liddell", studentRepository.findByEmail("Alice@X.com").getLastName());
+    }
+
+    @Test
+    void shouldReportInvalidRowsAndImportTheRest() {
+        ImportReport report = bulkImportService.importStudents(null, csv(
+                "email,first_name",
+                "ok1@example.com,A",
+                "not-an-email,B",
+                ",C",
+                "ok2@example.com",
+                "ok3@example.com,D"));
+
+        assertEquals(ImportReport.Status.COMPLETED, report.getStatus());
+        assertEquals(2, report.getInserted());
+        assertEquals(3, report.getFailed());
+        assertEquals(3, report.getErrors().get(0).getLine());
+        assertEquals("Invalid email: not-an-email", report.getErrors().get(0).getMessage());
+        assertEquals("email is required", report.getErrors().get(1).getMessage());
+        assertEquals("Expected 2 fields but found 1", report.getErrors().get(2).getMessage());
+        assertFalse(report.isErrorsTruncated());
+        assertNotNull(report.getImportId());
+    }
+
+    @Test
+    void shouldRejectUnknownHeaderBeforeWriting() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                bulkImportService.importStudents("bad-header", csv("email,nickname", "a@example.com,x")));
+
+        assertEquals("Unknown column: nickname", exception.getMessage());
+        assertEquals(0, studentRepository.count());
+        assertEquals(ImportReport.Status.FAILED, bulkImportService.getReport("bad-header").getStatus());
+    }
+
+    @Test
+    void shouldImportCoursesAndRefreshSearchIndex() {
+        LocalDateTime start = LocalDateTime.now().plusDays(30).withNano(0);
+        courseSearchIndex.size();
+
+        ImportReport report = bulkImportService.importCourses("courses-1", csv(
+                "name,start_time,end_time,price,capacity",
+                "Quantum Basics," + start + "," + start.plusHours(8) + ",1000000,30",
+                "\"Quantum, Advanced\"," + start.plusDays(1) + "," + start.plusDays(1).plusHours(8) + ",2000000,",
+                "Broken," + start + "," + start.minusHours(1) + ",1000000,",
+                "Free lunch," + start + "," + start.plusHours(1) + ",-1,"));
+
+        assertEquals(2, report.getInserted());
+        assertEquals(2, report.getFailed());
+        assertEquals("end_time must be after start_time", report.getErrors().get(0).getMessage());
+        assertEquals("price must not be negative", report.getErrors().get(1).getMessage());
+        List<Course> courses = courseRepository.findAll();
+        assertEquals(2, courses.size());
+        assertTrue(courses.stream().anyMatch(c -> Integer.valueOf(30).equals(c.getCapacity())));
+        assertEquals(2, courseSearchIndex.search("quantum", LocalDateTime.now(), null, 10).size());
+        assertEquals(ImportReport.Status.COMPLETED, bulkImportService.getReport("courses-1").getStatus());
+    }
+
+    @Test
+    void shouldFailButKeepCommittedChunksOnMalformedInput() {
+        ImportReport report = bulkImportService.importStudents(null, csv(
+                "email",
+                "a@example.com",
+                "b@example.com",
+                "\"c@example.com"));
+
+        assertEquals(ImportReport.Status.FAILED, report.getStatus());
+        assertEquals("Unterminated quoted field starting on line 4", report.getMessage());
+        assertEquals(2, studentRepository.count());
+    }
+
+    @Test
+    void shouldRejectUnknownImportId() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                bulkImportService.getReport("missing"));
+
+        assertEquals("Import missing not found", exception.getMessage());
+    }
+
+    private static InputStream csv(String... lines) {
+        return new ByteArrayInputStream((String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
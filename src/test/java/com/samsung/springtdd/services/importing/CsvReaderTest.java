@@ -0,0 +1,44 @@
+package com.samsung.springtdd.services.importing;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvReaderTest {
+
+    @Test
+    void shouldReadPlainAndQuotedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b,c\n\"x, y\",\"say \"\"hi\"\"\",\n"));
+
+        assertEquals(List.of("a", "b", "c"), reader.next());
+        assertEquals(List.of("x, y", "say \"hi\"", ""), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void shouldTrackLinesAcrossCrLfAndQuotedLineBreaks() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("h1,h2\r\n\"two\nlines\",x\r\nlast,row"));
+
+        reader.next();
+        assertEquals(1, reader.recordLine());
+        assertEquals(List.of("two\nlines", "x"), reader.next());
+        assertEquals(2, reader.recordLine());
+        assertEquals(List.of("last", "row"), reader.next());
+        assertEquals(4, reader.recordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void shouldRejectUnterminatedQuote() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("ok\n\"never closed,x\n"));
+        reader.next();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, reader::next);
+
+        assertEquals("Unterminated quoted field starting on line 2", exception.getMessage());
+    }
+}
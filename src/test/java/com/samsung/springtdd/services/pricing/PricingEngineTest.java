@@ -0,0 +1,32 @@
+package com.samsung.springtdd.services.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PricingEngineTest {
+
+    private final PricingEngine pricingEngine = new PricingEngine(List.of(new LoyaltyDiscountRule()));
+
+    @Test
+    void shouldChargeFullPriceForFirstTwoRegistrations() {
+        assertEquals(1000000L, pricingEngine.price(1000000L, PricingContext.ofRegistrationCount(0)));
+        assertEquals(1000000L, pricingEngine.price(1000000L, PricingContext.ofRegistrationCount(1)));
+    }
+
+    @Test
+    void shouldDiscountFromThirdRegistration() {
+        assertEquals(750000L, pricingEngine.price(1000000L, PricingContext.ofRegistrationCount(2)));
+        assertEquals(750000L, pricingEngine.price(1000000L, PricingContext.ofRegistrationCount(10)));
+    }
+
+    @Test
+    void shouldChainRulesInOrder() {
+        PricingRule flatFee = (price, context) -> price + 1000;
+        PricingEngine chained = new PricingEngine(List.of(new LoyaltyDiscountRule(), flatFee));
+
+        assertEquals(751000L, chained.price(1000000L, PricingContext.ofRegistrationCount(2)));
+    }
+}
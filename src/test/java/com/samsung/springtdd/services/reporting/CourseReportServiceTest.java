@@ -0,0 +1,233 @@
+package com.samsung.springtdd.services.reporting;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CourseDailyReport;
+import com.samsung.springtdd.models.DTO.CourseReport;
+import com.samsung.springtdd.models.DTO.RegistrationRequest;
+import com.samsung.springtdd.models.Registration;
+import com.samsung.springtdd.models.Student;
+import com.samsung.springtdd.models.repository.ArchivedRegistrationRepository;
+import com.samsung.springtdd.models.repository.CourseDailyStatsRepository;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import com.samsung.springtdd.models.repository.WaitlistRepository;
+import com.samsung.springtdd.services.RegistrationService;
+import com.samsung.springtdd.support.RegistrationServices;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class CourseReportServiceTest {
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private CourseDailyStatsRepository courseDailyStatsRepository;
+
+    @Autowired
+    private ArchivedRegistrationRepository archivedRegistrationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private RegistrationService registrationService;
+    private CourseReportService courseReportService;
+    private Course java;
+    private Course spring;
+
+    @BeforeEach
+    void setup() {
+        registrationService = new RegistrationServices(courseRepository, studentRepository, registrationRepository,
+                waitlistRepository, courseDailyStatsRepository).registrationService();
+        courseReportService = new CourseReportService(courseDailyStatsRepository, registrationRepository,
+                archivedRegistrationRepository, courseRepository, jdbcTemplate);
+
+        java = courseRepository.save(Course.builder()
+                .name("Java Basics")
+                .startTime(LocalDateTime.now().plusDays(10))
+                .endTime(LocalDateTime.now().plusDays(10).plusHours(8))
+                .price(1000000L)
+                .build());
+        spring = courseRepository.save(Course.builder()
+                .name("Spring Boot")
+                .startTime(LocalDateTime.now().plusDays(20))
+                .endTime(LocalDateTime.now().plusDays(20).plusHours(8))
+                .price(500000L)
+                .build());
+        for (String email : List.of("a@example.com", "b@example.com", "c@example.com")) {
+            studentRepository.save(Student.builder().email(email).build());
+        }
+    }
+
+    @Test
+    void shouldAccumulateRegistrationsAndCancellationsPerCourse() {
+        registrationService.registerCourse(java.getId(), "a@example.com");
+        registrationService.registerCourse(java.getId(), "b@example.com");
+        registrationService.registerCourse(spring.getId(), "a@example.com");
+        registrationService.unregisterCourse(java.getId(), "b@example.com");
+        flushAndClear();
+
+        List<CourseReport> reports = courseReportService.getCourseReports(null, null);
+
+        assertEquals(2, reports.size());
+        CourseReport javaReport = reports.get(0);
+        assertEquals(java.getId(), javaReport.getCourseId());
+        assertEquals("Java Basics", javaReport.getName());
+        assertEquals(2, javaReport.getRegistrations());
+        assertEquals(1, javaReport.getCancellations());
+        assertEquals(1, javaReport.getEnrolments());
+        assertEquals(1000000L, javaReport.getRevenue());
+        CourseReport springReport = reports.get(1);
+        assertEquals(1, springReport.getEnrolments());
+        assertEquals(sumOfPrices(spring), springReport.getRevenue());
+    }
+
+    @Test
+    void shouldMatchRegistrationsAfterBatchAndBulkChanges() {
+        registrationService.registerCourses(List.of(
+                request(java.getId(), "a@example.com"),
+                request(spring.getId(), "a@example.com"),
+                request(java.getId(), "b@example.com"),
+                request(java.getId(), "c@example.com")));
+        registrationService.unregisterCourses("a@example.com", List.of(java.getId(), spring.getId()));
+        registrationService.unregisterAll(java.getId());
+        registrationService.registerCourse(java.getId(), "c@example.com");
+        flushAndClear();
+
+        for (CourseReport report : courseReportService.getCourseReports(null, null)) {
+            Course course = courseRepository.findById(report.getCourseId()).orElseThrow();
+            assertEquals(course.getSeatsTaken(), report.getEnrolments());
+            assertEquals(sumOfPrices(course), report.getRevenue());
+        }
+        assertEquals(2, courseDailyStatsRepository.count(), "one row per course and day");
+    }
+
+    @Test
+    void shouldInsertOnlyTheDaysMissingFromAChangeSharedByCourses() {
+        CourseStatsRecorder recorder = new CourseStatsRecorder(courseDailyStatsRepository);
+        recorder.record(new CourseStatsRecorder.Changes().registered(java.getId(), 100L));
+        flushAndClear();
+
+        recorder.record(new CourseStatsRecorder.Changes()
+                .registered(java.getId(), 100L)
+                .registered(spring.getId(), 100L));
+        flushAndClear();
+
+        LocalDate today = LocalDate.now();
+        List<CourseDailyReport> javaDaily = courseReportService.getDailyReport(java.getId(), today, today);
+        List<CourseDailyReport> springDaily = courseReportService.getDailyReport(spring.getId(), today, today);
+        assertEquals(2, javaDaily.get(0).getRegistrations());
+        assertEquals(200L, javaDaily.get(0).getRevenue());
+        assertEquals(1, springDaily.get(0).getRegistrations());
+        assertEquals(100L, springDaily.get(0).getRevenue());
+        assertEquals(2, courseDailyStatsRepository.count());
+    }
+
+    @Test
+    void shouldReportOneRowPerDay() {
+        registrationService.registerCourse(java.getId(), "a@example.com");
+        registrationService.registerCourse(java.getId(), "b@example.com");
+        flushAndClear();
+        LocalDate today = LocalDate.now();
+
+        List<CourseDailyReport> daily = courseReportService.getDailyReport(java.getId(), today, today);
+
+        assertEquals(1, daily.size());
+        assertEquals(today, daily.get(0).getDay());
+        assertEquals(2, daily.get(0).getRegistrations());
+        assertTrue(courseReportService.getCourseReports(today.minusDays(7), today.minusDays(1)).isEmpty());
+    }
+
+    @Test
+    void shouldRejectInvertedRange() {
+        LocalDate today = LocalDate.now();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                courseReportService.getCourseReports(today, today.minusDays(1)));
+
+        assertEquals("from must not be after to", exception.getMessage());
+    }
+
+    @Test
+    void shouldBackfillFromExistingRegistrations() {
+        Student student = studentRepository.findByEmail("a@example.com");
+        LocalDateTime lastWeek = LocalDateTime.now().minusDays(7);
+        registrationRepository.save(Registration.builder()
+                .student(student).course(java).price(900000L).registeredDate(lastWeek).build());
+        registrationRepository.save(Registration.builder()
+                .student(student).course(spring).price(450000L).registeredDate(lastWeek).build());
+        flushAndClear();
+
+        courseReportService.backfillIfEmpty();
+        courseReportService.backfillIfEmpty();
+        flushAndClear();
+
+        List<CourseDailyReport> daily = courseReportService.getDailyReport(java.getId(), null, null);
+        assertEquals(1, daily.size());
+        assertEquals(lastWeek.toLocalDate(), daily.get(0).getDay());
+        assertEquals(1, daily.get(0).getRegistrations());
+        assertEquals(900000L, daily.get(0).getRevenue());
+        assertEquals(2, courseDailyStatsRepository.count());
+    }
+
+    @Test
+    void shouldSeedPastDaysButKeepRowsRecordedToday() {
+        registrationService.registerCourse(java.getId(), "a@example.com");
+        Student student = studentRepository.findByEmail("b@example.com");
+        LocalDateTime lastWeek = LocalDateTime.now().minusDays(7);
+        registrationRepository.save(Registration.builder()
+                .student(student).course(java).price(900000L).registeredDate(lastWeek).build());
+        registrationRepository.save(Registration.builder()
+                .student(student).course(spring).price(450000L).registeredDate(LocalDateTime.now()).build());
+        flushAndClear();
+
+        courseReportService.backfillIfEmpty();
+        flushAndClear();
+
+        List<CourseDailyReport> javaDays = courseReportService.getDailyReport(java.getId(), null, null);
+        assertEquals(List.of(lastWeek.toLocalDate(), LocalDate.now()),
+                javaDays.stream().map(CourseDailyReport::getDay).toList());
+        assertEquals(1, javaDays.get(1).getRegistrations());
+        assertEquals(1, courseReportService.getDailyReport(spring.getId(), null, null).size());
+        assertEquals(3, courseDailyStatsRepository.count());
+    }
+
+    private long sumOfPrices(Course course) {
+        return registrationRepository.sumPriceByCourseId(course.getId());
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private RegistrationRequest request(Long courseId, String email) {
+        RegistrationRequest request = new RegistrationRequest();
+        request.setCourseId(courseId);
+        request.setEmail(email);
+        return request;
+    }
+}
@@ -0,0 +1,154 @@
+package com.samsung.springtdd.services.search;
+
+import com.samsung.springtdd.models.Course;
+import com.samsung.springtdd.models.DTO.CourseSummary;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.services.CourseChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseSearchIndexTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    private CourseSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new CourseSearchIndex(courseRepository);
+        lenient().when(courseRepository.findAllSummaries()).thenReturn(List.of(
+                course(1L, "Java Basics", 10),
+                course(2L, "Advanced Java", 5),
+                course(3L, "JavaScript for Java developers", 20),
+                course(4L, "Spring Boot", 15),
+                course(5L, "Old Java", -30)));
+    }
+
+    @Test
+    void shouldMatchEveryWordAsPrefixInStartOrder() {
+        assertEquals(List.of(2L, 1L, 3L), ids(index.search("jav", BASE, null, 10)));
+        assertEquals(List.of(1L), ids(index.search("BAS jav", BASE, null, 10)));
+        assertEquals(List.of(3L), ids(index.search("java dev", BASE, null, 10)));
+        assertEquals(List.of(), ids(index.search("python", BASE, null, 10)));
+    }
+
+    @Test
+    void shouldFilterByStartTimeRange() {
+        assertEquals(List.of(1L), ids(index.search("java", BASE.plusDays(6), BASE.plusDays(20), 10)));
+        assertEquals(List.of(5L, 2L), ids(index.search("java", BASE.minusDays(60), BASE.plusDays(6), 10)));
+    }
+
+    @Test
+    void shouldListByStartTimeWithoutQuery() {
+        assertEquals(List.of(2L, 1L), ids(index.search(" ", BASE, null, 2)));
+        assertEquals(List.of(4L, 3L), ids(index.search(null, BASE.plusDays(11), null, 10)));
+    }
+
+    @Test
+    void shouldApplyCourseChangesWithoutRebuilding() {
+        index.search("java", BASE, null, 10);
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(Course.builder()
+                .id(1L).name("Kotlin Basics").startTime(BASE.plusDays(10)).endTime(BASE.plusDays(40)).price(1000L).build()));
+        when(courseRepository.findById(4L)).thenReturn(Optional.empty());
+
+        index.onCourseChanged(new CourseChangedEvent(1L));
+        index.onCourseChanged(new CourseChangedEvent(4L));
+
+        assertEquals(List.of(2L, 3L), ids(index.search("java", BASE, null, 10)));
+        assertEquals(List.of(1L), ids(index.search("kot", BASE, null, 10)));
+        assertEquals(List.of(), ids(index.search("spring", BASE, null, 10)));
+        assertEquals(4, index.size());
+        verify(courseRepository, times(1)).findAllSummaries();
+    }
+
+    @Test
+    void shouldApplyChangeCommittedWhileBuilding() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AtomicReference<Future<?>> event = new AtomicReference<>();
+            when(courseRepository.findAllSummaries()).thenAnswer(invocation -> {
+                // The rename commits after the build's query read the old name.
+                event.set(executor.submit(() -> index.onCourseChanged(new CourseChangedEvent(4L))));
+                Thread.sleep(100);
+                return List.of(course(4L, "Spring Boot", 15));
+            });
+            when(courseRepository.findById(4L)).thenReturn(Optional.of(Course.builder()
+                    .id(4L).name("Spring Cloud").startTime(BASE.plusDays(15)).endTime(BASE.plusDays(45)).price(1000L).build()));
+
+            index.size();
+            event.get().get(5, TimeUnit.SECONDS);
+
+            assertEquals(List.of(4L), ids(index.search("cloud", BASE, null, 10)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldNotBlockSearchesWhileReadingChangedCourse() {
+        index.size();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            when(courseRepository.findById(1L)).thenAnswer(invocation -> {
+                assertEquals(List.of(1L), ids(executor.submit(() -> index.search("basics", BASE, null, 10))
+                        .get(5, TimeUnit.SECONDS)));
+                return Optional.empty();
+            });
+
+            index.onCourseChanged(new CourseChangedEvent(1L));
+
+            assertEquals(List.of(), ids(index.search("basics", BASE, null, 10)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldDiscardReadOverlappingRebuild() {
+        index.size();
+        when(courseRepository.findById(1L)).thenAnswer(invocation -> {
+            // A bulk change drops the index and a search rebuilds it while this read is in flight.
+            index.onCourseChanged(new CourseChangedEvent(null));
+            index.size();
+            return Optional.empty();
+        });
+
+        index.onCourseChanged(new CourseChangedEvent(1L));
+
+        assertEquals(List.of(1L), ids(index.search("basics", BASE, null, 10)));
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> index.search("java", BASE, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> index.search("java", BASE, BASE, 10));
+        verifyNoInteractions(courseRepository);
+    }
+
+    private static CourseSummary course(Long id, String name, int startsInDays) {
+        LocalDateTime start = BASE.plusDays(startsInDays);
+        return new CourseSummary(id, name, start, start.plusDays(30), 1000000L);
+    }
+
+    private static List<Long> ids(List<CourseSummary> courses) {
+        return courses.stream().map(CourseSummary::getId).toList();
+    }
+}
@@ -0,0 +1,118 @@
+package com.samsung.springtdd.support;
+
+import com.samsung.springtdd.config.ReadYourWrites;
+import com.samsung.springtdd.models.repository.CourseDailyStatsRepository;
+import com.samsung.springtdd.models.repository.CourseRepository;
+import com.samsung.springtdd.models.repository.RegistrationRepository;
+import com.samsung.springtdd.models.repository.StudentRepository;
+import com.samsung.springtdd.models.repository.WaitlistRepository;
+import com.samsung.springtdd.services.RegistrationChangedEvent;
+import com.samsung.springtdd.services.RegistrationService;
+import com.samsung.springtdd.services.WaitlistChangedEvent;
+import com.samsung.springtdd.services.WaitlistService;
+import com.samsung.springtdd.services.cache.CourseCache;
+import com.samsung.springtdd.services.cache.StudentCache;
+import com.samsung.springtdd.services.cache.StudentSchedules;
+import com.samsung.springtdd.services.cache.WaitlistQueues;
+import com.samsung.springtdd.services.pricing.LoyaltyDiscountRule;
+import com.samsung.springtdd.services.pricing.PricingEngine;
+import com.samsung.springtdd.services.reporting.CourseStatsRecorder;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@link RegistrationService} and {@link WaitlistService} wired over the given repositories the way the
+ * application context wires them, so tests and benchmarks keep only their own fixtures. The caches
+ * are exposed for tests that warm or inspect them.
+ * <p>
+ * Events are dropped by default, leaving the caches as warm as the test made them. With
+ * {@link #deliveringEvents} they reach the waitlist queues and student schedules straight away, as the
+ * after-commit listeners would.
+ */
+public class RegistrationServices {
+    private static final long CACHE_SIZE = 1000;
+
+    private final CourseCache courseCache;
+    private final StudentCache studentCache;
+    private final StudentSchedules studentSchedules;
+    private final WaitlistQueues waitlistQueues;
+    private final WaitlistService waitlistService;
+    private final RegistrationService registrationService;
+
+    public RegistrationServices(CourseRepository courseRepository,
+                                StudentRepository studentRepository,
+                                RegistrationRepository registrationRepository,
+                                WaitlistRepository waitlistRepository,
+                                CourseDailyStatsRepository courseDailyStatsRepository) {
+        this(courseRepository, studentRepository, registrationRepository, waitlistRepository,
+                courseDailyStatsRepository, CACHE_SIZE, false);
+    }
+
+    public RegistrationServices(CourseRepository courseRepository,
+                                StudentRepository studentRepository,
+                                RegistrationRepository registrationRepository,
+                                WaitlistRepository waitlistRepository,
+                                CourseDailyStatsRepository courseDailyStatsRepository,
+                                long cacheSize,
+                                boolean deliverEvents) {
+        courseCache = new CourseCache(courseRepository, cacheSize, Duration.ofMinutes(10));
+        studentCache = new StudentCache(studentRepository, cacheSize, Duration.ofMinutes(10), Duration.ofSeconds(30));
+        studentSchedules = new StudentSchedules(registrationRepository, cacheSize, Duration.ofMinutes(1));
+        waitlistQueues = new WaitlistQueues(waitlistRepository, cacheSize);
+        ApplicationEventPublisher events = deliverEvents ? this::deliver : event -> { };
+        waitlistService = new WaitlistService(waitlistRepository, courseRepository, studentRepository,
+                registrationRepository, studentCache, studentSchedules, waitlistQueues, events);
+        registrationService = new RegistrationService(courseRepository, studentRepository, registrationRepository,
+                new PricingEngine(List.of(new LoyaltyDiscountRule())),
+                courseCache,
+                studentCache,
+                studentSchedules,
+                waitlistService,
+                new CourseStatsRecorder(courseDailyStatsRepository),
+                new ReadYourWrites(Duration.ofSeconds(5), cacheSize),
+                events);
+    }
+
+    public static RegistrationServices deliveringEvents(CourseRepository courseRepository,
+                                                        StudentRepository studentRepository,
+                                                        RegistrationRepository registrationRepository,
+                                                        WaitlistRepository waitlistRepository,
+                                                        CourseDailyStatsRepository courseDailyStatsRepository) {
+        return new RegistrationServices(courseRepository, studentRepository, registrationRepository,
+                waitlistRepository, courseDailyStatsRepository, CACHE_SIZE, true);
+    }
+
+    private void deliver(Object event) {
+        if (event instanceof WaitlistChangedEvent changed) {
+            waitlistQueues.onWaitlistChanged(changed);
+        } else if (event instanceof RegistrationChangedEvent changed) {
+            studentSchedules.onRegistrationChanged(changed);
+        }
+    }
+
+    public RegistrationService registrationService() {
+        return registrationService;
+    }
+
+    public WaitlistService waitlistService() {
+        return waitlistService;
+    }
+
+    public CourseCache courseCache() {
+        return courseCache;
+    }
+
+    public StudentCache studentCache() {
+        return studentCache;
+    }
+
+    public StudentSchedules studentSchedules() {
+        return studentSchedules;
+    }
+
+    public WaitlistQueues waitlistQueues() {
+        return waitlistQueues;
+    }
+}
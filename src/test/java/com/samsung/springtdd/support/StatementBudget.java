@@ -0,0 +1,50 @@
+package com.samsung.springtdd.support;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Asserts how many SQL statements (and, optionally, entity loads) an operation may issue against the
+ * real JPA layer. Pending writes are flushed before the count is taken, so deferred inserts and
+ * updates are charged to the operation that caused them.
+ *
+ * <pre>
+ * budget.expect("getRegisteredCourses", 2, () -&gt; service.getRegisteredCourses(email));
+ * </pre>
+ */
+public class StatementBudget {
+    private final EntityManager entityManager;
+    private final Statistics statistics;
+
+    public StatementBudget(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    public <T> T expect(String operation, long maxStatements, Supplier<T> action) {
+        return expect(operation, maxStatements, Long.MAX_VALUE, action);
+    }
+
+    public <T> T expect(String operation, long maxStatements, long maxEntityLoads, Supplier<T> action) {
+        entityManager.flush();
+        statistics.clear();
+        T result = action.get();
+        entityManager.flush();
+
+        long statements = statistics.getPrepareStatementCount();
+        long entityLoads = statistics.getEntityLoadCount();
+        if (statements > maxStatements || entityLoads > maxEntityLoads) {
+            fail(String.format("%s blew its budget: %d statements (budget %d), %d entity loads (budget %s). Queries: %s",
+                    operation, statements, maxStatements, entityLoads,
+                    maxEntityLoads == Long.MAX_VALUE ? "none" : maxEntityLoads,
+                    String.join(" | ", statistics.getQueries())));
+        }
+        return result;
+    }
+}